@@ -1,61 +1,79 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 
-
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerExchangeFactory exchanges) {
+        super(exchanges.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(Long userId, BookingDto bookingDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(Long userId, BookingDto bookingDto) {
         return post("", userId, bookingDto);
     }
 
-    public ResponseEntity<Object> approve(Long userId, Long bookingId, Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> createBatch(Long userId, List<BookingDto> bookingDtos) {
+        return post("/batch", userId, bookingDtos);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> approve(Long userId, Long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
         return patch("/" + bookingId + "?approved={approved}", userId, parameters);
     }
 
-    public ResponseEntity<Object> get(Long userId, Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> decideBatch(Long userId, List<BookingDecision> decisions) {
+        return patch("/batch", userId, decisions);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> get(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> get(Long userId, BookingRequestState state, Long from, Long size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> get(Long userId, BookingRequestState state, Long from, Long size,
+                                                         String after, Boolean includeTotal) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get("?state={state}&from={from}&size={size}"
+                        + optionalParameter(parameters, "after", after)
+                        + optionalParameter(parameters, "includeTotal", includeTotal),
+                userId, parameters);
     }
 
-    public ResponseEntity<Object> getByOwner(Long userId, BookingRequestState state, Long from, Long size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> getByOwner(Long userId, BookingRequestState state, Long from,
+                                                                Long size, String after, Boolean includeTotal) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get("/owner?state={state}&from={from}&size={size}"
+                        + optionalParameter(parameters, "after", after)
+                        + optionalParameter(parameters, "includeTotal", includeTotal),
+                userId, parameters);
+    }
+
+    private static String optionalParameter(Map<String, Object> parameters, String name, Object value) {
+        if (value == null) {
+            return "";
+        }
+        parameters.put(name, value);
+        return "&" + name + "={" + name + "}";
     }
 }
\ No newline at end of file
@@ -11,6 +11,8 @@ import ru.practicum.shareit.utility.UnsupportedStateException;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
 
@@ -23,40 +25,62 @@ public class BookingGatewayController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(HEADER_USER_ID) Long userId,
-                                         @RequestBody @Valid BookingDto bookingDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(@RequestHeader(HEADER_USER_ID) Long userId,
+                                                            @RequestBody @Valid BookingDto bookingDto) {
         return bookingClient.create(userId, bookingDto);
     }
 
+    /**
+     * Elements are validated by the server one by one and reported in the per-element results, so one
+     * invalid booking does not reject the whole batch.
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<Object>> createBatch(@RequestHeader(HEADER_USER_ID) Long userId,
+                                                                 @RequestBody List<BookingDto> bookingDtos) {
+        return bookingClient.createBatch(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approve(@RequestHeader(HEADER_USER_ID) Long userId,
-                                          @PathVariable Long bookingId,
-                                          @RequestParam Boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> approve(@RequestHeader(HEADER_USER_ID) Long userId,
+                                                             @PathVariable Long bookingId,
+                                                             @RequestParam Boolean approved) {
         return bookingClient.approve(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public CompletableFuture<ResponseEntity<Object>> decideBatch(@RequestHeader(HEADER_USER_ID) Long userId,
+                                                                 @RequestBody List<BookingDecision> decisions) {
+        return bookingClient.decideBatch(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> get(@RequestHeader(HEADER_USER_ID) Long userId,
-                                      @PathVariable Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> get(@RequestHeader(HEADER_USER_ID) Long userId,
+                                                         @PathVariable Long bookingId) {
         return bookingClient.get(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> get(@RequestHeader(HEADER_USER_ID) Long userId,
-                                      @RequestParam(name = "state", defaultValue = "ALL") String value,
-                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Long from,
-                                      @Positive @RequestParam(name = "size", defaultValue = "10") Long size) {
+    public CompletableFuture<ResponseEntity<Object>> get(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String value,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Long from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Long size,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "includeTotal", required = false) Boolean includeTotal) {
         BookingRequestState state = validateState(value);
-        return bookingClient.get(userId, state, from, size);
+        return bookingClient.get(userId, state, from, size, after, includeTotal);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getByOwner(@RequestHeader(HEADER_USER_ID) Long userId,
-                                             @RequestParam(name = "state", defaultValue = "ALL") String value,
-                                             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Long from,
-                                             @Positive @RequestParam(name = "size", defaultValue = "10") Long size) {
+    public CompletableFuture<ResponseEntity<Object>> getByOwner(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String value,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Long from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Long size,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "includeTotal", required = false) Boolean includeTotal) {
         BookingRequestState state = validateState(value);
-        return bookingClient.getByOwner(userId, state, from, size);
+        return bookingClient.getByOwner(userId, state, from, size, after, includeTotal);
     }
 
     private BookingRequestState validateState(String value) {
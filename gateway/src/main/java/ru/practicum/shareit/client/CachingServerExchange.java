@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
+
+/**
+ * Serves repeated GETs of one resource family from the {@link ResponseCache} and invalidates the family
+ * around every mutating call proxied to it. A cached response whose tag matches the client's
+ * {@code If-None-Match} is answered with 304 straight away.
+ */
+public class CachingServerExchange implements ServerExchange {
+    private final ServerExchange delegate;
+    private final String family;
+    private final ResponseCache cache;
+
+    public CachingServerExchange(ServerExchange delegate, String apiPrefix, ResponseCache cache) {
+        this.delegate = delegate;
+        this.family = apiPrefix.startsWith("/") ? apiPrefix.substring(1) : apiPrefix;
+        this.cache = cache;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                              String path,
+                                                              HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        if (method == HttpMethod.GET) {
+            if (!cache.isCached(family)) {
+                return delegate.exchange(method, path, headers, parameters, body);
+            }
+            String key = ResponseCache.key(family, path, parameters == null ? null : new TreeMap<>(parameters),
+                    headers.getFirst(HEADER_USER_ID));
+            Optional<ResponseEntity<Object>> cached = cache.get(key);
+            if (cached.isPresent()) {
+                return CompletableFuture.completedFuture(conditional(cached.get(),
+                        headers.getFirst(HttpHeaders.IF_NONE_MATCH)));
+            }
+            long generation = cache.generation(family);
+            return delegate.exchange(method, path, headers, parameters, body)
+                    .thenApply(response -> {
+                        if (response.getStatusCodeValue() == HttpStatus.OK.value()) {
+                            cache.put(family, generation, key, response);
+                        }
+                        return response;
+                    });
+        }
+        cache.invalidate(family);
+        return delegate.exchange(method, path, headers, parameters, body)
+                .whenComplete((response, error) -> cache.invalidate(family));
+    }
+
+    private static ResponseEntity<Object> conditional(ResponseEntity<Object> response, @Nullable String ifNoneMatch) {
+        String eTag = response.getHeaders().getETag();
+        if (eTag == null || ifNoneMatch == null) {
+            return response;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag) || tag.equals("*")) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+        return response;
+    }
+}
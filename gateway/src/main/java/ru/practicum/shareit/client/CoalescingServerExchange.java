@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
+
+/**
+ * Lets concurrent identical GETs share one server call. Requests are identical when they have the same
+ * path, parameters, user header and {@code If-None-Match}, so every caller gets the response it would
+ * have received on its own. Any other request invalidates the in-flight calls when it starts and again when
+ * it completes, so a GET issued after a write never shares a read that began before it.
+ */
+public class CoalescingServerExchange implements ServerExchange {
+    private final ServerExchange delegate;
+    private final String family;
+    private final InFlightRequests inFlight;
+
+    public CoalescingServerExchange(ServerExchange delegate, String apiPrefix, InFlightRequests inFlight) {
+        this.delegate = delegate;
+        this.family = apiPrefix.startsWith("/") ? apiPrefix.substring(1) : apiPrefix;
+        this.inFlight = inFlight;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                              String path,
+                                                              HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        if (method != HttpMethod.GET) {
+            inFlight.invalidate();
+            return delegate.exchange(method, path, headers, parameters, body)
+                    .whenComplete((response, error) -> inFlight.invalidate());
+        }
+        String key = ResponseCache.key(family, path, parameters == null ? null : new TreeMap<>(parameters),
+                headers.getFirst(HEADER_USER_ID)) + ' ' + headers.getFirst(HttpHeaders.IF_NONE_MATCH);
+        return inFlight.join(key, () -> delegate.exchange(method, path, headers, parameters, body));
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Passes every call of one resource family through its {@link UpstreamGuard}. A rejected call completes
+ * exceptionally with {@link ru.practicum.shareit.utility.UpstreamUnavailableException}, answered with 503.
+ */
+public class GuardedServerExchange implements ServerExchange {
+    private final ServerExchange delegate;
+    private final UpstreamGuard guard;
+
+    public GuardedServerExchange(ServerExchange delegate, UpstreamGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                              String path,
+                                                              HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        return guard.call(() -> delegate.exchange(method, path, headers, parameters, body));
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+    private int maxTotal = 200;
+    private int maxPerRoute = 200;
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration idleEviction = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    /**
+     * Requests allowed to wait for a pooled connection in reactive mode, -1 for no limit.
+     */
+    private int maxPending = 1000;
+    /**
+     * Cleartext HTTP/2 with prior knowledge (h2c) in reactive mode, multiplexing concurrent requests over
+     * a few connections. The blocking Apache client speaks HTTP/1.1 only and ignores it.
+     */
+    private boolean http2 = false;
+    /**
+     * Offer gzip/deflate to the server and decode compressed responses before relaying them.
+     */
+    private boolean compression = true;
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight registry of server calls. The first caller for a key becomes the leader and makes the call;
+ * callers arriving while it is in flight join the leader's result instead of calling the server again.
+ * The key is released as soon as the call completes, so nothing is served after the fact. Keys are scoped to
+ * a write generation: once a write has been seen, later callers no longer join calls that started before it.
+ * The generation is shared by all families because their responses embed each other's data.
+ */
+public class InFlightRequests {
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> calls = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong upstream = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public CompletableFuture<ResponseEntity<Object>> join(String key,
+                                                          Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        String flight = generation.get() + " " + key;
+        CompletableFuture<ResponseEntity<Object>> promise = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> leader = calls.putIfAbsent(flight, promise);
+        if (leader != null) {
+            coalesced.incrementAndGet();
+            return leader.copy();
+        }
+        upstream.incrementAndGet();
+        CompletableFuture<ResponseEntity<Object>> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((response, error) -> {
+            calls.remove(flight, promise);
+            if (error != null) {
+                promise.completeExceptionally(error);
+            } else {
+                promise.complete(response);
+            }
+        });
+        return promise.copy();
+    }
+
+    /**
+     * Starts a new write generation, so calls already in flight are not joined any more.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    public int inFlight() {
+        return calls.size();
+    }
+
+    public long upstream() {
+        return upstream.get();
+    }
+
+    public long coalesced() {
+        return coalesced.get();
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes how many GETs went to the server and how many were saved by joining an identical call.
+ */
+public class InFlightRequestsMetrics implements MeterBinder {
+    private final InFlightRequests inFlight;
+
+    public InFlightRequestsMetrics(InFlightRequests inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gateway.coalescing.upstream", inFlight, InFlightRequests::upstream)
+                .description("GETs proxied to the server by a leading caller")
+                .register(registry);
+        FunctionCounter.builder("gateway.coalescing.saved", inFlight, InFlightRequests::coalesced)
+                .description("GETs answered by joining an identical call already in flight")
+                .register(registry);
+        Gauge.builder("gateway.coalescing.in-flight", inFlight, InFlightRequests::inFlight)
+                .description("Distinct GETs currently in flight")
+                .register(registry);
+    }
+}
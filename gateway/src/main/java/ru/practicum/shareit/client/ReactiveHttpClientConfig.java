@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking gateway mode: every client talks to the server through one Reactor Netty connection pool,
+ * so an in-flight request holds a pooled connection but no thread. With
+ * {@code spring.main.web-application-type=reactive} the controllers themselves are served by Netty too.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "reactive")
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class ReactiveHttpClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireMaxCount(properties.getMaxPending())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .evictInBackground(properties.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ServerExchangeFactory serverExchangeFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                       WebClient.Builder builder,
+                                                       ConnectionProvider serverConnectionProvider,
+                                                       HttpClientProperties properties,
+                                                       ObjectProvider<ServerExchangeDecorator> decorators) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .compress(properties.isCompression())
+                .protocol(properties.isHttp2() ? HttpProtocol.H2C : HttpProtocol.HTTP11);
+        WebClient.Builder serverBuilder = builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+        ServerExchangeFactory transport = apiPrefix -> new WebClientServerExchange(
+                serverBuilder.clone()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                        .build()
+        );
+        return ServerExchangeFactory.decorated(transport, decorators.orderedStream().collect(Collectors.toList()));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
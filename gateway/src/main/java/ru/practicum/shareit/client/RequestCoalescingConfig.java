@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Coalesces identical in-flight GETs. Ordered inside the response cache, so only cache misses are joined.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestCoalescingConfig {
+
+    @Bean
+    public InFlightRequests inFlightRequests() {
+        return new InFlightRequests();
+    }
+
+    @Bean
+    public InFlightRequestsMetrics inFlightRequestsMetrics(InFlightRequests inFlightRequests) {
+        return new InFlightRequestsMetrics(inFlightRequests);
+    }
+
+    @Bean
+    @Order(200)
+    public ServerExchangeDecorator requestCoalescingDecorator(InFlightRequests inFlightRequests) {
+        return (apiPrefix, exchange) -> new CoalescingServerExchange(exchange, apiPrefix, inFlightRequests);
+    }
+}
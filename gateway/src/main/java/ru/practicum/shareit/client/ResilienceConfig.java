@@ -0,0 +1,39 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Isolates resource families from each other. Ordered closest to the transport, so the bulkhead bounds
+ * real server calls and cache hits or coalesced reads never take a permit.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.resilience.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfig {
+
+    @Bean
+    public UpstreamGuards upstreamGuards(ResilienceProperties properties) {
+        return new UpstreamGuards(properties, System::nanoTime);
+    }
+
+    @Bean
+    public UpstreamGuardMetrics upstreamGuardMetrics(UpstreamGuards upstreamGuards) {
+        return new UpstreamGuardMetrics(upstreamGuards);
+    }
+
+    @Bean
+    public UpstreamsEndpoint upstreamsEndpoint(UpstreamGuards upstreamGuards) {
+        return new UpstreamsEndpoint(upstreamGuards);
+    }
+
+    @Bean
+    @Order(300)
+    public ServerExchangeDecorator resilienceDecorator(UpstreamGuards upstreamGuards) {
+        return (apiPrefix, exchange) -> new GuardedServerExchange(exchange,
+                upstreamGuards.guard(apiPrefix.startsWith("/") ? apiPrefix.substring(1) : apiPrefix));
+    }
+}
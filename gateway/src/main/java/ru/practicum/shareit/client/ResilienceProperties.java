@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.resilience")
+public class ResilienceProperties {
+    private boolean enabled = true;
+    /**
+     * Isolation policy per resource family, named after the client API prefix. Families without an entry
+     * get the default policy.
+     */
+    private Map<String, Policy> resources = new HashMap<>();
+
+    public Policy policy(String family) {
+        return resources.getOrDefault(family, new Policy());
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+        /**
+         * Calls to the family allowed in flight at once; further calls are rejected straight away.
+         */
+        private int maxConcurrent = 50;
+        /**
+         * Number of most recent calls the failure rate is computed over.
+         */
+        private int slidingWindow = 50;
+        private int minimumCalls = 20;
+        private int failureRateThreshold = 50;
+        /**
+         * Calls taking longer than this count as failures even when they succeed.
+         */
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+        private Duration openDuration = Duration.ofSeconds(10);
+        /**
+         * Trial calls let through after the open period; all must succeed to close the circuit again.
+         */
+        private int halfOpenCalls = 5;
+    }
+}
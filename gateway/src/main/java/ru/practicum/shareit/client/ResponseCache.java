@@ -0,0 +1,133 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded store of server responses, evicting the least recently used entry past {@code maxEntries} and
+ * any entry older than {@code ttl}. Entries are grouped by resource family; invalidating a family also
+ * drops its dependent families and bumps their generations, so a read that was in flight during the
+ * change is not stored afterwards.
+ */
+public class ResponseCache {
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Set<String> families;
+    private final Map<String, Set<String>> dependents;
+    private final LongSupplier clock;
+
+    private final Map<String, Entry> entries;
+    private final Map<String, Long> generations = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long puts;
+    private long evictions;
+    private long invalidations;
+
+    public ResponseCache(ResponseCacheProperties properties, LongSupplier clock) {
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.maxEntries = properties.getMaxEntries();
+        this.families = Set.copyOf(properties.getFamilies());
+        this.dependents = Map.copyOf(properties.getDependents());
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isCached(String family) {
+        return families.contains(family);
+    }
+
+    public synchronized long generation(String family) {
+        return generations.getOrDefault(family, 0L);
+    }
+
+    public synchronized Optional<ResponseEntity<Object>> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && clock.getAsLong() - entry.storedAt > ttlNanos) {
+            entries.remove(key);
+            evictions++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(entry.response);
+    }
+
+    public synchronized void put(String family, long generation, String key, ResponseEntity<Object> response) {
+        if (generation(family) != generation) {
+            return;
+        }
+        entries.put(key, new Entry(response, clock.getAsLong()));
+        puts++;
+    }
+
+    public synchronized void invalidate(String family) {
+        drop(family);
+        for (String dependent : dependents.getOrDefault(family, Set.of())) {
+            drop(dependent);
+        }
+    }
+
+    public synchronized long size() {
+        return entries.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long puts() {
+        return puts;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    public synchronized long invalidations() {
+        return invalidations;
+    }
+
+    static String key(String family, String path, Map<String, Object> parameters, String userId) {
+        return family + ' ' + path + ' ' + (parameters == null ? "" : parameters) + ' ' + userId;
+    }
+
+    private void drop(String family) {
+        generations.merge(family, 1L, Long::sum);
+        String prefix = family + ' ';
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+        invalidations++;
+    }
+
+    private static final class Entry {
+        private final ResponseEntity<Object> response;
+        private final long storedAt;
+
+        private Entry(ResponseEntity<Object> response, long storedAt) {
+            this.response = response;
+            this.storedAt = storedAt;
+        }
+    }
+}
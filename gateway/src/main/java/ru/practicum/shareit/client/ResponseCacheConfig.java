@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.cache.enabled", havingValue = "true")
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(ResponseCacheProperties properties) {
+        return new ResponseCache(properties, System::nanoTime);
+    }
+
+    @Bean
+    public ResponseCacheMetrics responseCacheMetrics(ResponseCache responseCache) {
+        return new ResponseCacheMetrics(responseCache);
+    }
+
+    @Bean
+    @Order(100)
+    public ServerExchangeDecorator responseCacheDecorator(ResponseCache responseCache) {
+        return (apiPrefix, exchange) -> new CachingServerExchange(exchange, apiPrefix, responseCache);
+    }
+}
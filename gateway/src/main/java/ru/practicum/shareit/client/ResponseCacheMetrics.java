@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Publishes the standard {@code cache.gets}, {@code cache.puts}, {@code cache.evictions} and
+ * {@code cache.size} meters for the gateway response cache, plus {@code cache.invalidations}.
+ */
+public class ResponseCacheMetrics extends CacheMeterBinder<ResponseCache> {
+
+    public ResponseCacheMetrics(ResponseCache cache) {
+        super(cache, "gateway-responses", Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        return getCache().size();
+    }
+
+    @Override
+    protected long hitCount() {
+        return getCache().hits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return getCache().misses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return getCache().evictions();
+    }
+
+    @Override
+    protected long putCount() {
+        return getCache().puts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.invalidations", getCache(), ResponseCache::invalidations)
+                .tags(getTagsWithCacheName())
+                .description("The number of times a resource family was invalidated")
+                .register(registry);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = false;
+    private Duration ttl = Duration.ofSeconds(10);
+    private int maxEntries = 10_000;
+    /**
+     * Resource families, named after the client API prefix, whose GET responses are cached.
+     */
+    private Set<String> families = Set.of("items", "users", "requests");
+    /**
+     * Families whose cached responses embed data of another family and are dropped when it changes.
+     */
+    private Map<String, Set<String>> dependents = new HashMap<>(Map.of(
+            "bookings", Set.of("items"),
+            "items", Set.of("requests"),
+            "users", Set.of("items", "requests")
+    ));
+}
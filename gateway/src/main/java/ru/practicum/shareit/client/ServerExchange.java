@@ -0,0 +1,23 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One call to the server, relative to the API prefix the exchange was created for.
+ * Every server status, errors included, completes the future normally with the raw body bytes and payload
+ * headers, so the gateway relays them without parsing; only transport failures complete it exceptionally.
+ */
+public interface ServerExchange {
+
+    CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                       String path,
+                                                       HttpHeaders headers,
+                                                       @Nullable Map<String, Object> parameters,
+                                                       @Nullable Object body);
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Wraps the transport exchange of every client with cross-cutting behaviour. Decorators are applied in
+ * bean order, the lowest order sitting closest to the caller.
+ */
+public interface ServerExchangeDecorator {
+
+    ServerExchange decorate(String apiPrefix, ServerExchange exchange);
+}
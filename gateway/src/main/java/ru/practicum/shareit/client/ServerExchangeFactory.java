@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+
+public interface ServerExchangeFactory {
+
+    ServerExchange create(String apiPrefix);
+
+    static ServerExchangeFactory decorated(ServerExchangeFactory transport, List<ServerExchangeDecorator> decorators) {
+        return apiPrefix -> {
+            ServerExchange exchange = transport.create(apiPrefix);
+            for (int i = decorators.size() - 1; i >= 0; i--) {
+                exchange = decorators.get(i).decorate(apiPrefix, exchange);
+            }
+            return exchange;
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Locale;
+import java.util.Set;
+
+final class ServerExchanges {
+    /**
+     * Headers that describe the server connection or the encoded form of its body rather than the payload,
+     * so they must not be copied onto the gateway response.
+     */
+    private static final Set<String> NOT_RELAYED = Set.of(
+            "connection", "keep-alive", "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade",
+            "content-length", "content-encoding");
+
+    private ServerExchanges() {
+    }
+
+    /**
+     * Relays a server response as is: the raw body bytes and the payload headers, with no JSON round trip.
+     */
+    static ResponseEntity<Object> relay(int status, @Nullable HttpHeaders headers, @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!NOT_RELAYED.contains(name.toLowerCase(Locale.ROOT))) {
+                    responseBuilder.header(name, values.toArray(String[]::new));
+                }
+            });
+        }
+        if (body != null) {
+            return responseBuilder.body(body);
+        }
+        return responseBuilder.build();
+    }
+}
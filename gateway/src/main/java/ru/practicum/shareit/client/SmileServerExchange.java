@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Speaks Smile on the hop to the server and JSON to everyone else. Request bodies are sent as Smile,
+ * Smile responses are transcoded token by token into JSON before they leave the exchange, so caches,
+ * tags and the gateway's own clients never see the binary format. A server answering JSON is relayed as is.
+ */
+public class SmileServerExchange implements ServerExchange {
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ServerExchange delegate;
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public SmileServerExchange(ServerExchange delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                              String path,
+                                                              HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        HttpHeaders wireHeaders = new HttpHeaders();
+        wireHeaders.putAll(headers);
+        wireHeaders.setAccept(List.of(APPLICATION_SMILE, MediaType.APPLICATION_JSON));
+        if (body != null) {
+            wireHeaders.setContentType(APPLICATION_SMILE);
+        }
+        return delegate.exchange(method, path, wireHeaders, parameters, body).thenApply(this::toJson);
+    }
+
+    private ResponseEntity<Object> toJson(ResponseEntity<Object> response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType == null || !APPLICATION_SMILE.isCompatibleWith(contentType)
+                || !(response.getBody() instanceof byte[])) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(headers)
+                .body(transcode((byte[]) response.getBody()));
+    }
+
+    private byte[] transcode(byte[] smile) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = smileFactory.createParser(smile);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed Smile response from the server", e);
+        }
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,175 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.utility.UpstreamUnavailableException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead and circuit breaker for the calls of one resource family.
+ * The bulkhead bounds the calls in flight, so a slow family cannot hold every gateway thread or pooled
+ * connection. The circuit opens once the failure rate over the last {@code slidingWindow} calls reaches
+ * the threshold, where server errors, transport failures and slow calls all count as failures. While open,
+ * calls fail fast; after {@code openDuration} a few trial calls decide whether it closes again.
+ */
+public class UpstreamGuard {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String family;
+    private final ResilienceProperties.Policy policy;
+    private final LongSupplier clock;
+    private final Semaphore permits;
+    private final boolean[] outcomes;
+    private final AtomicLong rejected = new AtomicLong();
+
+    private State state = State.CLOSED;
+    private long epoch;
+    private long openedAt;
+    private int position;
+    private int recorded;
+    private int failures;
+    private int trialPermits;
+    private int trialSuccesses;
+
+    public UpstreamGuard(String family, ResilienceProperties.Policy policy, LongSupplier clock) {
+        this.family = family;
+        this.policy = policy;
+        this.clock = clock;
+        this.permits = new Semaphore(policy.getMaxConcurrent());
+        this.outcomes = new boolean[policy.getSlidingWindow()];
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> call(Supplier<CompletableFuture<ResponseEntity<Object>>> call) {
+        long callEpoch;
+        try {
+            callEpoch = admit();
+        } catch (UpstreamUnavailableException e) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!permits.tryAcquire()) {
+            release(callEpoch);
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new UpstreamUnavailableException(
+                    "Too many concurrent requests to " + family, Duration.ofSeconds(1)));
+        }
+        long start = clock.getAsLong();
+        CompletableFuture<ResponseEntity<Object>> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((response, error) -> {
+            permits.release();
+            boolean failed = error != null
+                    || response.getStatusCodeValue() >= 500
+                    || clock.getAsLong() - start > policy.getSlowCallDuration().toNanos();
+            record(callEpoch, failed);
+        });
+    }
+
+    public synchronized State state() {
+        return currentState();
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        synchronized (this) {
+            report.put("state", currentState());
+            report.put("failureRate", failureRate());
+            report.put("bufferedCalls", recorded);
+        }
+        report.put("inFlight", inFlight());
+        report.put("maxConcurrent", policy.getMaxConcurrent());
+        report.put("rejected", rejected.get());
+        return report;
+    }
+
+    public int inFlight() {
+        return policy.getMaxConcurrent() - permits.availablePermits();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    private synchronized long admit() {
+        State current = currentState();
+        if (current == State.OPEN) {
+            long remaining = policy.getOpenDuration().toNanos() - (clock.getAsLong() - openedAt);
+            throw new UpstreamUnavailableException("Circuit to " + family + " is open", Duration.ofNanos(remaining));
+        }
+        if (current == State.HALF_OPEN) {
+            if (trialPermits == 0) {
+                throw new UpstreamUnavailableException("Circuit to " + family + " is half open",
+                        Duration.ofSeconds(1));
+            }
+            trialPermits--;
+        }
+        return epoch;
+    }
+
+    private synchronized void release(long callEpoch) {
+        if (callEpoch == epoch && state == State.HALF_OPEN) {
+            trialPermits++;
+        }
+    }
+
+    private synchronized void record(long callEpoch, boolean failed) {
+        if (callEpoch != epoch) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (failed) {
+                transition(State.OPEN);
+            } else if (++trialSuccesses == policy.getHalfOpenCalls()) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (recorded == outcomes.length) {
+            failures -= outcomes[position] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        outcomes[position] = failed;
+        failures += failed ? 1 : 0;
+        position = (position + 1) % outcomes.length;
+        if (recorded >= policy.getMinimumCalls() && failureRate() >= policy.getFailureRateThreshold()) {
+            transition(State.OPEN);
+        }
+    }
+
+    private State currentState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= policy.getOpenDuration().toNanos()) {
+            transition(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    private void transition(State next) {
+        state = next;
+        epoch++;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        if (next == State.OPEN) {
+            openedAt = clock.getAsLong();
+        } else if (next == State.HALF_OPEN) {
+            trialPermits = policy.getHalfOpenCalls();
+            trialSuccesses = 0;
+        }
+    }
+
+    private double failureRate() {
+        return recorded == 0 ? 0 : failures * 100.0 / recorded;
+    }
+}
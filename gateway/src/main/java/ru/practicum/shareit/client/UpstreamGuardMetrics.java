@@ -0,0 +1,37 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes circuit state (0 closed, 1 open, 2 half open), calls in flight and rejected calls per family.
+ */
+public class UpstreamGuardMetrics implements MeterBinder {
+    private final UpstreamGuards guards;
+
+    public UpstreamGuardMetrics(UpstreamGuards guards) {
+        this.guards = guards;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        guards.all().forEach((family, guard) -> {
+            Tags tags = Tags.of("resource", family);
+            Gauge.builder("gateway.upstream.state", guard, value -> value.state().ordinal())
+                    .tags(tags)
+                    .description("Circuit state: 0 closed, 1 open, 2 half open")
+                    .register(registry);
+            Gauge.builder("gateway.upstream.in-flight", guard, UpstreamGuard::inFlight)
+                    .tags(tags)
+                    .description("Calls to the resource currently in flight")
+                    .register(registry);
+            FunctionCounter.builder("gateway.upstream.rejected", guard, UpstreamGuard::rejected)
+                    .tags(tags)
+                    .description("Calls failed fast by the bulkhead or the open circuit")
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link UpstreamGuard} per resource family. Families listed in the properties are guarded from the
+ * start, so their meters exist before the first call.
+ */
+public class UpstreamGuards {
+    private final ResilienceProperties properties;
+    private final LongSupplier clock;
+    private final Map<String, UpstreamGuard> guards = new ConcurrentHashMap<>();
+
+    public UpstreamGuards(ResilienceProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        properties.getResources().keySet().forEach(this::guard);
+    }
+
+    public UpstreamGuard guard(String family) {
+        return guards.computeIfAbsent(family, key -> new UpstreamGuard(key, properties.policy(key), clock));
+    }
+
+    public Map<String, UpstreamGuard> all() {
+        return Collections.unmodifiableMap(new TreeMap<>(guards));
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/upstreams}: bulkhead and circuit state of every resource family.
+ */
+@Endpoint(id = "upstreams")
+public class UpstreamsEndpoint {
+    private final UpstreamGuards guards;
+
+    public UpstreamsEndpoint(UpstreamGuards guards) {
+        this.guards = guards;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> upstreams() {
+        Map<String, Map<String, Object>> report = new LinkedHashMap<>();
+        guards.all().forEach((family, guard) -> report.put(family, guard.describe()));
+        return report;
+    }
+
+    @ReadOperation
+    @Nullable
+    public Map<String, Object> upstream(@Selector String family) {
+        UpstreamGuard guard = guards.all().get(family);
+        return guard == null ? null : guard.describe();
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary Smile on the gateway-server hop, enabled with {@code shareit-server.wire-format=smile}.
+ * Both transports get a Smile codec built from the Boot-configured mapper, matching the server's.
+ * Ordered innermost, so every other decorator works on JSON.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.wire-format", havingValue = "smile")
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.smile().build());
+    }
+
+    @Bean
+    public CodecCustomizer smileCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper mapper = builder.smile().build();
+        return configurer -> {
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2SmileDecoder(mapper));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2SmileEncoder(mapper));
+        };
+    }
+
+    @Bean
+    @Order(400)
+    public ServerExchangeDecorator smileWireFormatDecorator() {
+        return (apiPrefix, exchange) -> new SmileServerExchange(exchange);
+    }
+}
@@ -1,61 +1,89 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerExchangeFactory exchanges) {
+        super(exchanges.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> update(Long userId, Long itemId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(Long userId, Long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> get(Long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public CompletableFuture<ResponseEntity<Object>> get(Long userId, Long itemId, String ifNoneMatch) {
+        return get("/" + itemId, userId, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> get(Long userId, Long from, Long size) {
-        Map<String, Object> parameters = Map.of(
+    public CompletableFuture<ResponseEntity<Object>> get(Long userId, Long from, Long size, Long after,
+                                                         String ifNoneMatch) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        ));
+        return get("?from={from}&size={size}" + afterParameter(parameters, after), userId, parameters,
+                ifNoneMatch);
     }
 
-    public ResponseEntity<Object> search(Long userId, String text, Long from, Long size) {
+    public CompletableFuture<ResponseEntity<Object>> getAvailability(Long userId, Long itemId, LocalDateTime from,
+                                                                     LocalDateTime to) {
         Map<String, Object> parameters = Map.of(
+                "from", from.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                "to", to.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> search(Long userId, String text, Long from, Long size,
+                                                            Long after, LocalDateTime start, LocalDateTime end,
+                                                            String ifNoneMatch) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
-        );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        ));
+        return get("/search?text={text}&from={from}&size={size}" + afterParameter(parameters, after)
+                        + windowParameters(parameters, start, end),
+                userId, parameters, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> comment(Long userId, Long itemId, CommentDto commentDto) {
+    public CompletableFuture<ResponseEntity<Object>> comment(Long userId, Long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
+    private static String afterParameter(Map<String, Object> parameters, Long after) {
+        if (after == null) {
+            return "";
+        }
+        parameters.put("after", after);
+        return "&after={after}";
+    }
+
+    private static String windowParameters(Map<String, Object> parameters, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return "";
+        }
+        parameters.put("start", start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        parameters.put("end", end.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        return "&start={start}&end={end}";
+    }
+
 }
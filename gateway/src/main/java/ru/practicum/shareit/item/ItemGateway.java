@@ -2,6 +2,8 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -10,6 +12,8 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
 
@@ -23,44 +27,62 @@ public class ItemGateway {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(HEADER_USER_ID) Long userId,
-                                         @Valid @RequestBody ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(@RequestHeader(HEADER_USER_ID) Long userId,
+                                                            @Valid @RequestBody ItemDto itemDto) {
         return itemClient.create(userId, itemDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader(HEADER_USER_ID) Long userId,
-                                         @PathVariable Long itemId,
-                                         @RequestBody ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(@RequestHeader(HEADER_USER_ID) Long userId,
+                                                            @PathVariable Long itemId,
+                                                            @RequestBody ItemDto itemDto) {
         return itemClient.update(userId, itemId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> get(@RequestHeader(HEADER_USER_ID) Long userId,
-                                      @PathVariable Long itemId) {
-        return itemClient.get(userId, itemId);
+    public CompletableFuture<ResponseEntity<Object>> get(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @PathVariable Long itemId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return itemClient.get(userId, itemId, ifNoneMatch);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public CompletableFuture<ResponseEntity<Object>> getAvailability(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getAvailability(userId, itemId, from, to);
     }
 
     @GetMapping
-    public ResponseEntity<Object> get(@RequestHeader(HEADER_USER_ID) Long userId,
-                                      @PositiveOrZero @RequestParam(defaultValue = "0") Long from,
-                                      @Positive @RequestParam(defaultValue = "10") Long size) {
-        return itemClient.get(userId, from, size);
+    public CompletableFuture<ResponseEntity<Object>> get(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Long from,
+            @Positive @RequestParam(defaultValue = "10") Long size,
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return itemClient.get(userId, from, size, after, ifNoneMatch);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestHeader(HEADER_USER_ID) Long userId,
-                                         @RequestParam String text,
-                                         @PositiveOrZero @RequestParam(defaultValue = "0") Long from,
-                                         @Positive @RequestParam(defaultValue = "10") Long size
-    ) {
-        return itemClient.search(userId, text, from, size);
+    public CompletableFuture<ResponseEntity<Object>> search(
+            @RequestHeader(HEADER_USER_ID) Long userId,
+            @RequestParam String text,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Long from,
+            @Positive @RequestParam(defaultValue = "10") Long size,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return itemClient.search(userId, text, from, size, after, start, end, ifNoneMatch);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> comment(@RequestHeader(HEADER_USER_ID) Long userId,
-                                          @PathVariable Long itemId,
-                                          @Valid @RequestBody CommentDto commentDto
+    public CompletableFuture<ResponseEntity<Object>> comment(@RequestHeader(HEADER_USER_ID) Long userId,
+                                                             @PathVariable Long itemId,
+                                                             @Valid @RequestBody CommentDto commentDto
     ) {
         return itemClient.comment(userId, itemId, commentDto);
     }
@@ -1,49 +1,42 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 
 import javax.validation.Valid;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerExchangeFactory exchanges) {
+        super(exchanges.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(Long userId, @Valid ItemRequestDto itemRequestDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(Long userId, @Valid ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> get(Long userId) {
-        return get("", userId);
+    public CompletableFuture<ResponseEntity<Object>> get(Long userId, String ifNoneMatch) {
+        return get("", userId, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> get(Long userId, Long from, Long size) {
+    public CompletableFuture<ResponseEntity<Object>> get(Long userId, Long from, Long size, String ifNoneMatch) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return get("/all?from={from}&size={size}", userId, parameters, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> get(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+    public CompletableFuture<ResponseEntity<Object>> get(Long userId, Long requestId, String ifNoneMatch) {
+        return get("/" + requestId, userId, null, ifNoneMatch);
     }
 
 }
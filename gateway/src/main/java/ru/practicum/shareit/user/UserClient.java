@@ -1,45 +1,39 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerExchangeFactory;
+
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerExchangeFactory exchanges) {
+        super(exchanges.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> update(Long userId, UserDto userDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(Long userId, UserDto userDto) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> get(Long userId) {
-        return get("/" + userId);
+    public CompletableFuture<ResponseEntity<Object>> get(Long userId, String ifNoneMatch) {
+        return get("/" + userId, null, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> delete(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> delete(Long userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> get() {
-        return get("");
+    public CompletableFuture<ResponseEntity<Object>> getAll(String ifNoneMatch) {
+        return get("", null, null, ifNoneMatch);
     }
 }
@@ -0,0 +1,139 @@
+package shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.client.CachingServerExchange;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+import ru.practicum.shareit.client.ServerExchange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
+
+class CachingServerExchangeTest {
+    private final List<String> upstreamCalls = new ArrayList<>();
+    private CompletableFuture<ResponseEntity<Object>> pending;
+    private int status = 200;
+    private ResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseCache(new ResponseCacheProperties(), new AtomicLong()::get);
+    }
+
+    @Test
+    void repeatedGetIsServedFromCache() throws Exception {
+        get("items", "/1", "1");
+
+        ResponseEntity<Object> cached = get("items", "/1", "1").get();
+
+        assertEquals(List.of("GET /items/1"), upstreamCalls);
+        assertEquals("/items/1 for 1", cached.getBody());
+    }
+
+    @Test
+    void entriesAreKeyedPerUser() throws Exception {
+        get("items", "/1", "1");
+
+        ResponseEntity<Object> other = get("items", "/1", "2").get();
+        get("items", "/1", "2");
+
+        assertEquals(List.of("GET /items/1", "GET /items/1"), upstreamCalls);
+        assertEquals("/items/1 for 2", other.getBody());
+    }
+
+    @Test
+    void mutationEvictsCachedGetsOfDependentFamilies() {
+        get("items", "/1", "1");
+        get("requests", "/1", "1");
+        get("users", "/1", "1");
+
+        exchange("bookings").exchange(HttpMethod.POST, "", headers("1"), null, Map.of("itemId", 1));
+        get("items", "/1", "1");
+        get("requests", "/1", "1");
+        get("users", "/1", "1");
+
+        assertEquals(List.of("GET /items/1", "GET /requests/1", "GET /users/1", "POST /bookings",
+                "GET /items/1"), upstreamCalls);
+
+        exchange("users").exchange(HttpMethod.PATCH, "/1", headers("1"), null, Map.of("name", "new"));
+        get("items", "/1", "1");
+        get("requests", "/1", "1");
+        get("users", "/1", "1");
+
+        assertEquals(List.of("PATCH /users/1", "GET /items/1", "GET /requests/1", "GET /users/1"),
+                upstreamCalls.subList(5, upstreamCalls.size()));
+    }
+
+    @Test
+    void readInFlightDuringMutationIsNotStored() {
+        pending = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> read = get("items", "/1", "1");
+        CompletableFuture<ResponseEntity<Object>> stale = pending;
+        pending = null;
+
+        exchange("bookings").exchange(HttpMethod.PATCH, "/1", headers("1"), null, null);
+        stale.complete(ResponseEntity.ok("stale"));
+        get("items", "/1", "1");
+
+        assertEquals("stale", read.join().getBody());
+        assertEquals(List.of("GET /items/1", "PATCH /bookings/1", "GET /items/1"), upstreamCalls);
+    }
+
+    @Test
+    void cachedTagMatchingIfNoneMatchIsNotModified() {
+        get("items", "/1", "1");
+        HttpHeaders headers = headers("1");
+        headers.setIfNoneMatch("W/\"/items/1\"");
+
+        ResponseEntity<Object> response = exchange("items").exchange(HttpMethod.GET, "/1", headers, null, null).join();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(1, upstreamCalls.size());
+    }
+
+    @Test
+    void responsesOtherThanOkAreRelayedWithoutCaching() {
+        status = 599;
+
+        assertEquals(599, get("items", "/1", "1").join().getStatusCodeValue());
+        get("items", "/1", "1");
+
+        assertEquals(2, upstreamCalls.size());
+        assertEquals(0, cache.size());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> get(String family, String path, String userId) {
+        return exchange(family).exchange(HttpMethod.GET, path, headers(userId), null, null);
+    }
+
+    private ServerExchange exchange(String family) {
+        ServerExchange upstream = (method, path, headers, parameters, body) -> {
+            String resource = "/" + family + path;
+            upstreamCalls.add(method + " " + resource);
+            if (pending != null) {
+                return pending;
+            }
+            return CompletableFuture.completedFuture(ResponseEntity.status(status)
+                    .eTag(resource)
+                    .body(resource + " for " + headers.getFirst(HEADER_USER_ID)));
+        };
+        return new CachingServerExchange(upstream, "/" + family, cache);
+    }
+
+    private static HttpHeaders headers(String userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HEADER_USER_ID, userId);
+        return headers;
+    }
+}
@@ -0,0 +1,173 @@
+package shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.client.CoalescingServerExchange;
+import ru.practicum.shareit.client.InFlightRequests;
+import ru.practicum.shareit.client.ServerExchange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
+
+class CoalescingServerExchangeTest {
+    private final List<CompletableFuture<ResponseEntity<Object>>> upstreamCalls = new CopyOnWriteArrayList<>();
+    private final ServerExchange upstream = (method, path, headers, parameters, body) -> {
+        CompletableFuture<ResponseEntity<Object>> call = new CompletableFuture<>();
+        upstreamCalls.add(call);
+        return call;
+    };
+
+    private InFlightRequests inFlight;
+    private ServerExchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        inFlight = new InFlightRequests();
+        exchange = new CoalescingServerExchange(upstream, "/items", inFlight);
+    }
+
+    @Test
+    void concurrentIdenticalGetsMakeOneUpstreamCall() throws Exception {
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<ResponseEntity<Object>>>> submitted = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            submitted.add(executor.submit(() -> {
+                start.await();
+                return get(headers("1", null));
+            }));
+        }
+        start.countDown();
+        List<CompletableFuture<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (Future<CompletableFuture<ResponseEntity<Object>>> future : submitted) {
+            responses.add(future.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        ResponseEntity<Object> response = ResponseEntity.ok("item");
+        upstreamCalls.get(0).complete(response);
+
+        assertEquals(1, upstreamCalls.size());
+        assertEquals(callers - 1, inFlight.coalesced());
+        for (CompletableFuture<ResponseEntity<Object>> each : responses) {
+            assertSame(response, each.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, inFlight.inFlight());
+    }
+
+    @Test
+    void failedLeaderReleasesKeyForTheNextRequest() throws Exception {
+        CompletableFuture<ResponseEntity<Object>> leader = get(headers("1", null));
+        CompletableFuture<ResponseEntity<Object>> follower = get(headers("1", null));
+
+        upstreamCalls.get(0).completeExceptionally(new IllegalStateException("connection reset"));
+
+        assertThrows(ExecutionException.class, leader::get);
+        assertThrows(ExecutionException.class, follower::get);
+        assertEquals(0, inFlight.inFlight());
+
+        CompletableFuture<ResponseEntity<Object>> retry = get(headers("1", null));
+        upstreamCalls.get(1).complete(ResponseEntity.ok("item"));
+
+        assertEquals(2, upstreamCalls.size());
+        assertEquals("item", retry.get().getBody());
+    }
+
+    @Test
+    void leaderThrowingReleasesKey() {
+        ServerExchange throwing = new CoalescingServerExchange((method, path, headers, parameters, body) -> {
+            throw new IllegalStateException("pool shut down");
+        }, "/items", inFlight);
+
+        CompletableFuture<ResponseEntity<Object>> response = throwing.exchange(HttpMethod.GET, "/1",
+                headers("1", null), null, null);
+
+        assertTrue(response.isCompletedExceptionally());
+        assertEquals(0, inFlight.inFlight());
+    }
+
+    @Test
+    void differentUserOrIfNoneMatchAreNotCoalesced() {
+        get(headers("1", null));
+        get(headers("2", null));
+        get(headers("1", "\"v1\""));
+        get(headers("1", "\"v2\""));
+        get(headers("1", "\"v2\""));
+
+        assertEquals(4, upstreamCalls.size());
+        assertEquals(1, inFlight.coalesced());
+    }
+
+    @Test
+    void differentParametersAndMutationsAreNotCoalesced() {
+        exchange.exchange(HttpMethod.GET, "/search", headers("1", null), Map.of("text", "drill"), null);
+        exchange.exchange(HttpMethod.GET, "/search", headers("1", null), Map.of("text", "saw"), null);
+        exchange.exchange(HttpMethod.PATCH, "/1", headers("1", null), null, Map.of("name", "drill"));
+        exchange.exchange(HttpMethod.PATCH, "/1", headers("1", null), null, Map.of("name", "drill"));
+
+        assertEquals(4, upstreamCalls.size());
+        assertEquals(0, inFlight.coalesced());
+    }
+
+    @Test
+    void getAfterWriteDoesNotJoinReadStartedBeforeIt() throws Exception {
+        CompletableFuture<ResponseEntity<Object>> before = get(headers("1", null));
+        CompletableFuture<ResponseEntity<Object>> write = exchange.exchange(HttpMethod.PATCH, "/1",
+                headers("1", null), null, Map.of("name", "saw"));
+        upstreamCalls.get(1).complete(ResponseEntity.ok("saw"));
+
+        CompletableFuture<ResponseEntity<Object>> after = get(headers("1", null));
+        upstreamCalls.get(0).complete(ResponseEntity.ok("drill"));
+        upstreamCalls.get(2).complete(ResponseEntity.ok("saw"));
+
+        assertEquals(3, upstreamCalls.size());
+        assertEquals("saw", write.get().getBody());
+        assertEquals("drill", before.get().getBody());
+        assertEquals("saw", after.get().getBody());
+    }
+
+    @Test
+    void writeToAnotherFamilyAlsoStartsNewFlights() {
+        get(headers("1", null));
+        new CoalescingServerExchange(upstream, "/bookings", inFlight)
+                .exchange(HttpMethod.PATCH, "/5", headers("1", null), Map.of("approved", true), null);
+        upstreamCalls.get(1).complete(ResponseEntity.ok().build());
+
+        get(headers("1", null));
+
+        assertEquals(3, upstreamCalls.size());
+        assertEquals(0, inFlight.coalesced());
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> get(HttpHeaders headers) {
+        return exchange.exchange(HttpMethod.GET, "/1", headers, null, null);
+    }
+
+    private static HttpHeaders headers(String userId, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HEADER_USER_ID, userId);
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return headers;
+    }
+}
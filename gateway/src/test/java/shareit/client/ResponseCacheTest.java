@@ -0,0 +1,85 @@
+package shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+    private final AtomicLong clock = new AtomicLong();
+    private ResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setTtl(Duration.ofSeconds(10));
+        properties.setMaxEntries(2);
+        cache = new ResponseCache(properties, clock::get);
+    }
+
+    @Test
+    void entryExpiresAfterTtl() {
+        store("items", "items /1");
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(cache.get("items /1").isPresent());
+
+        clock.incrementAndGet();
+
+        assertEquals(Optional.empty(), cache.get("items /1"));
+        assertEquals(1, cache.evictions());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedPastMaxEntries() {
+        store("items", "items /1");
+        store("items", "items /2");
+        cache.get("items /1");
+
+        store("items", "items /3");
+
+        assertTrue(cache.get("items /1").isPresent());
+        assertTrue(cache.get("items /2").isEmpty());
+        assertTrue(cache.get("items /3").isPresent());
+        assertEquals(1, cache.evictions());
+    }
+
+    @Test
+    void invalidatingFamilyDropsItsDependents() {
+        cache = new ResponseCache(new ResponseCacheProperties(), clock::get);
+        store("items", "items /1");
+        store("requests", "requests /1");
+        store("users", "users /1");
+
+        cache.invalidate("bookings");
+        assertTrue(cache.get("items /1").isEmpty());
+        assertTrue(cache.get("requests /1").isPresent());
+
+        cache.invalidate("users");
+        assertTrue(cache.get("requests /1").isEmpty());
+        assertTrue(cache.get("users /1").isEmpty());
+    }
+
+    @Test
+    void responseReadBeforeInvalidationIsNotStored() {
+        long generation = cache.generation("items");
+
+        cache.invalidate("bookings");
+        cache.put("items", generation, "items /1", ResponseEntity.ok("stale"));
+
+        assertTrue(cache.get("items /1").isEmpty());
+        assertEquals(0, cache.puts());
+    }
+
+    private void store(String family, String key) {
+        cache.put(family, cache.generation(family), key, ResponseEntity.ok(key));
+    }
+}
@@ -0,0 +1,195 @@
+package shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.client.GuardedServerExchange;
+import ru.practicum.shareit.client.ResilienceProperties;
+import ru.practicum.shareit.client.ServerExchange;
+import ru.practicum.shareit.client.UpstreamGuard;
+import ru.practicum.shareit.utility.UpstreamUnavailableException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamGuardTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Deque<Supplier<CompletableFuture<ResponseEntity<Object>>>> responses = new ArrayDeque<>();
+    private final ServerExchange upstream = (method, path, headers, parameters, body) -> {
+        upstreamCalls.incrementAndGet();
+        Supplier<CompletableFuture<ResponseEntity<Object>>> response = responses.poll();
+        return response == null
+                ? CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.OK))
+                : response.get();
+    };
+
+    private UpstreamGuard guard;
+    private ServerExchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties.Policy policy = new ResilienceProperties.Policy();
+        policy.setMaxConcurrent(2);
+        policy.setSlidingWindow(4);
+        policy.setMinimumCalls(4);
+        policy.setFailureRateThreshold(50);
+        policy.setSlowCallDuration(Duration.ofSeconds(1));
+        policy.setOpenDuration(Duration.ofSeconds(10));
+        policy.setHalfOpenCalls(2);
+        guard = new UpstreamGuard("items", policy, clock::get);
+        exchange = new GuardedServerExchange(upstream, guard);
+    }
+
+    @Test
+    void staysClosedBelowFailureRate() {
+        answer(200, 200, 200, 500);
+
+        assertEquals(UpstreamGuard.State.CLOSED, guard.state());
+    }
+
+    @Test
+    void opensOnFailureRate() {
+        answer(200, 500, 200);
+        assertEquals(UpstreamGuard.State.CLOSED, guard.state());
+
+        answer(500);
+
+        assertEquals(UpstreamGuard.State.OPEN, guard.state());
+    }
+
+    @Test
+    void countsNonStandardServerStatusAndSlowCallsAsFailures() {
+        answer(599, 200, 200);
+        respond(() -> {
+            clock.addAndGet(Duration.ofSeconds(2).toNanos());
+            return CompletableFuture.completedFuture(ResponseEntity.ok().build());
+        });
+
+        assertEquals(UpstreamGuard.State.OPEN, guard.state());
+        assertEquals(0, guard.inFlight());
+    }
+
+    @Test
+    void rejectsWhileOpenWithRemainingOpenTime() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+
+        UpstreamUnavailableException e = rejection(call());
+
+        assertEquals(Duration.ofSeconds(6), e.getRetryAfter());
+        assertEquals(4, upstreamCalls.get());
+        assertEquals(1, guard.rejected());
+    }
+
+    @Test
+    void closesWhenHalfOpenTrialsSucceed() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(UpstreamGuard.State.HALF_OPEN, guard.state());
+
+        answer(200);
+        assertEquals(UpstreamGuard.State.HALF_OPEN, guard.state());
+        answer(200);
+
+        assertEquals(UpstreamGuard.State.CLOSED, guard.state());
+    }
+
+    @Test
+    void reopensWhenHalfOpenTrialFails() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        answer(503);
+
+        assertEquals(UpstreamGuard.State.OPEN, guard.state());
+        assertEquals(Duration.ofSeconds(10), rejection(call()).getRetryAfter());
+    }
+
+    @Test
+    void halfOpenLetsOnlyTrialCallsThrough() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        CompletableFuture<ResponseEntity<Object>> first = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> second = new CompletableFuture<>();
+        respond(() -> first);
+        respond(() -> second);
+
+        rejection(call());
+        first.complete(ResponseEntity.ok().build());
+        second.complete(ResponseEntity.ok().build());
+
+        assertEquals(6, upstreamCalls.get());
+        assertEquals(UpstreamGuard.State.CLOSED, guard.state());
+    }
+
+    @Test
+    void bulkheadRejectsBeyondMaxConcurrentAndReleasesOnCompletion() {
+        CompletableFuture<ResponseEntity<Object>> first = new CompletableFuture<>();
+        respond(() -> first);
+        respond(CompletableFuture::new);
+        assertEquals(2, guard.inFlight());
+
+        rejection(call());
+        first.complete(ResponseEntity.ok().build());
+
+        assertEquals(1, guard.inFlight());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void bulkheadReleasedWhenUpstreamThrowsOrFails() {
+        CompletableFuture<ResponseEntity<Object>> pending = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> thrown = respond(() -> {
+            throw new IllegalStateException("connection refused");
+        });
+        CompletableFuture<ResponseEntity<Object>> failed = respond(() -> pending);
+        pending.completeExceptionally(new IllegalStateException("read timed out"));
+
+        assertTrue(thrown.isCompletedExceptionally());
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0, guard.inFlight());
+        assertFalse(call().isCompletedExceptionally());
+    }
+
+    private void open() {
+        answer(500, 500, 500, 500);
+        assertEquals(UpstreamGuard.State.OPEN, guard.state());
+    }
+
+    private void answer(int... statuses) {
+        for (int status : statuses) {
+            respond(() -> CompletableFuture.completedFuture(ResponseEntity.status(status).build()));
+        }
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> respond(
+            Supplier<CompletableFuture<ResponseEntity<Object>>> response) {
+        responses.add(response);
+        return call();
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> call() {
+        return exchange.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null);
+    }
+
+    private static UpstreamUnavailableException rejection(CompletableFuture<ResponseEntity<Object>> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        return assertInstanceOf(UpstreamUnavailableException.class, e.getCause());
+    }
+}
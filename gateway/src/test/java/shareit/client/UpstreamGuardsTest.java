@@ -0,0 +1,39 @@
+package shareit.client;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.client.ResilienceProperties;
+import ru.practicum.shareit.client.UpstreamGuard;
+import ru.practicum.shareit.client.UpstreamGuards;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UpstreamGuardsTest {
+
+    @Test
+    void configuredFamiliesAreGuardedFromTheStartWithTheirPolicy() {
+        ResilienceProperties properties = new ResilienceProperties();
+        ResilienceProperties.Policy bookings = new ResilienceProperties.Policy();
+        bookings.setMaxConcurrent(7);
+        properties.setResources(Map.of("bookings", bookings));
+
+        UpstreamGuards guards = new UpstreamGuards(properties, () -> 0L);
+
+        assertEquals(Set.of("bookings"), guards.all().keySet());
+        assertEquals(7, guards.guard("bookings").describe().get("maxConcurrent"));
+    }
+
+    @Test
+    void otherFamiliesGetTheDefaultPolicyOnce() {
+        UpstreamGuards guards = new UpstreamGuards(new ResilienceProperties(), () -> 0L);
+
+        UpstreamGuard users = guards.guard("users");
+
+        assertSame(users, guards.guard("users"));
+        assertEquals(new ResilienceProperties.Policy().getMaxConcurrent(), users.describe().get("maxConcurrent"));
+        assertEquals(Set.of("users"), guards.all().keySet());
+    }
+}
@@ -0,0 +1,64 @@
+package shareit.utility;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.ShareItGateway;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingGatewayController;
+import ru.practicum.shareit.utility.UpstreamUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
+
+@WebMvcTest(controllers = BookingGatewayController.class)
+@ContextConfiguration(classes = ShareItGateway.class)
+class ErrorHandlerTest {
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void upstreamUnavailableIsServiceUnavailableWithRetryAfter() throws Exception {
+        when(bookingClient.get(1L, 1L)).thenReturn(CompletableFuture.failedFuture(
+                new UpstreamUnavailableException("Circuit to bookings is open", Duration.ofSeconds(7))));
+
+        mvc.perform(asyncDispatch(start()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"))
+                .andExpect(jsonPath("$.error").value("Circuit to bookings is open"));
+    }
+
+    @Test
+    void retryAfterIsAtLeastOneSecond() throws Exception {
+        when(bookingClient.get(1L, 1L)).thenReturn(CompletableFuture.failedFuture(
+                new UpstreamUnavailableException("Too many concurrent requests to bookings", Duration.ofMillis(300))));
+
+        mvc.perform(asyncDispatch(start()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    private MvcResult start() throws Exception {
+        return mvc.perform(get("/bookings/1").header(HEADER_USER_ID, 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
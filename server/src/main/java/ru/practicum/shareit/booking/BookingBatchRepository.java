@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+import java.util.Map;
+
+public interface BookingBatchRepository {
+    /**
+     * Inserts new bookings in one JDBC batch and sets their generated ids. Item and booker are read by id
+     * only, so they need not be managed entities.
+     */
+    void insertAll(List<Booking> bookings);
+
+    /**
+     * Moves the owner's WAITING bookings to the decided statuses in one UPDATE and bumps their versions.
+     * Returns the number of rows changed; bookings that are not WAITING or not the owner's are left alone.
+     */
+    int decideAll(Map<Long, BookingStatus> decisions, Long ownerId);
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+    private static final String INSERT = "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status, "
+            + "version) VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String DECIDE = "UPDATE bookings SET status = CASE id %s END, version = version + 1 "
+            + "WHERE id IN (%s) AND status = 'WAITING' AND item_id IN (SELECT id FROM items WHERE owner_id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"})) {
+                for (Booking booking : bookings) {
+                    statement.setTimestamp(1, Timestamp.valueOf(booking.getStart()));
+                    statement.setTimestamp(2, Timestamp.valueOf(booking.getEnd()));
+                    statement.setLong(3, booking.getItem().getId());
+                    statement.setLong(4, booking.getBooker().getId());
+                    statement.setString(5, booking.getStatus().name());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (int i = 0; keys.next(); i++) {
+                        bookings.get(i).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public int decideAll(Map<Long, BookingStatus> decisions, Long ownerId) {
+        if (decisions.isEmpty()) {
+            return 0;
+        }
+        String sql = String.format(DECIDE,
+                String.join(" ", Collections.nCopies(decisions.size(), "WHEN ? THEN ?")),
+                String.join(", ", Collections.nCopies(decisions.size(), "?")));
+        List<Object> arguments = new ArrayList<>();
+        decisions.forEach((id, status) -> {
+            arguments.add(id);
+            arguments.add(status.name());
+        });
+        arguments.addAll(decisions.keySet());
+        arguments.add(ownerId);
+        return jdbcTemplate.update(sql, arguments.toArray());
+    }
+}
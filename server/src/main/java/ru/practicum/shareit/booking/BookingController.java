@@ -3,20 +3,27 @@ package ru.practicum.shareit.booking;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.model.Booking;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.util.List;
+import java.util.function.LongSupplier;
 
+import static ru.practicum.shareit.utility.Constants.HEADER_NEXT_CURSOR;
+import static ru.practicum.shareit.utility.Constants.HEADER_TOTAL_COUNT;
 import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
+import static ru.practicum.shareit.utility.Constants.MAX_BATCH_SIZE;
 
 @Slf4j
 @RestController
@@ -29,47 +36,81 @@ public class BookingController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Booking create(@RequestBody @Valid BookingDto booking, @RequestHeader(HEADER_USER_ID) Long userId) {
+    public BookingDto create(@RequestBody @Valid BookingDto booking, @RequestHeader(HEADER_USER_ID) Long userId) {
         log.info("Creating booking for user ID: {}", userId);
-        return bookingService.create(booking, userId);
+        return BookingMapper.toBookingDto(bookingService.create(booking, userId));
+    }
+
+    @PostMapping("/batch")
+    public List<BookingBatchResult> createBatch(
+            @RequestBody @NotNull @Size(min = 1, max = MAX_BATCH_SIZE) List<BookingDto> bookings,
+            @RequestHeader(HEADER_USER_ID) Long userId) {
+        log.info("Creating {} bookings for user ID: {}", bookings.size(), userId);
+        return bookingService.createBatch(bookings, userId);
     }
 
     @PatchMapping("/{bookingId}")
     @ResponseStatus(HttpStatus.OK)
-    public Booking approveOrReject(@PathVariable Long bookingId,
-                                   @RequestParam boolean approved,
-                                   @RequestHeader(HEADER_USER_ID) Long userId) {
+    public BookingDto approveOrReject(@PathVariable Long bookingId,
+                                      @RequestParam boolean approved,
+                                      @RequestHeader(HEADER_USER_ID) Long userId) {
         log.info("Approving or rejecting booking with ID: {} for user ID: {}", bookingId, userId);
-        return bookingService.approveOrReject(bookingId, approved, userId);
+        return BookingMapper.toBookingDto(bookingService.approveOrReject(bookingId, approved, userId));
+    }
+
+    @PatchMapping("/batch")
+    public List<BookingBatchResult> decideBatch(
+            @RequestBody @NotNull @Size(min = 1, max = MAX_BATCH_SIZE) List<BookingDecision> decisions,
+            @RequestHeader(HEADER_USER_ID) Long userId) {
+        log.info("Deciding {} bookings for owner ID: {}", decisions.size(), userId);
+        return bookingService.decideBatch(decisions, userId);
     }
 
     @GetMapping("/{bookingId}")
     @ResponseStatus(HttpStatus.OK)
-    public Booking get(@PathVariable Long bookingId,
-                       @RequestHeader(HEADER_USER_ID) Long userId) {
+    public BookingDto get(@PathVariable Long bookingId,
+                          @RequestHeader(HEADER_USER_ID) Long userId) {
         log.info("Getting booking with ID: {} for user ID: {}", bookingId, userId);
-        return bookingService.get(bookingId, userId);
+        return BookingMapper.toBookingDto(bookingService.get(bookingId, userId));
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<Booking> getUserBookings(
+    public ResponseEntity<List<BookingDto>> getUserBookings(
             @PositiveOrZero @NotNull @RequestParam(value = "from", defaultValue = "0") Integer from,
             @Positive @NotNull @RequestParam(value = "size", defaultValue = "1000") Integer size,
             @RequestParam(value = "state", defaultValue = "ALL") String state,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal,
             @RequestHeader(HEADER_USER_ID) Long userId) {
         log.info("Getting user bookings with state: {} for user ID: {}", state, userId);
-        return bookingService.getUserBookings(state, userId, from, size);
+        return listing(bookingService.getUserBookings(state, userId, from, size, after), size,
+                includeTotal ? () -> bookingService.countUserBookings(state, userId) : null);
     }
 
     @GetMapping("/owner")
-    @ResponseStatus(HttpStatus.OK)
-    public List<Booking> getOwnerBookings(
+    public ResponseEntity<List<BookingDto>> getOwnerBookings(
             @PositiveOrZero @NotNull @RequestParam(value = "from", defaultValue = "0") Integer from,
             @Positive @NotNull @RequestParam(value = "size", defaultValue = "1000") Integer size,
             @RequestParam(value = "state", defaultValue = "ALL") String state,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal,
             @RequestHeader(HEADER_USER_ID) Long userId) {
         log.info("Getting owner bookings with state: {} for user ID: {}", state, userId);
-        return bookingService.getOwnerBookings(state, userId, PageRequest.of(from / size, size, Sort.by("start").descending()));
+        return listing(bookingService.getOwnerBookings(state, userId,
+                        PageRequest.of(from / size, size, BookingCursor.ORDER), after), size,
+                includeTotal ? () -> bookingService.countOwnerBookings(state, userId) : null);
+    }
+
+    private static ResponseEntity<List<BookingDto>> listing(List<BookingDto> bookings, int size,
+                                                            LongSupplier total) {
+        HttpHeaders headers = new HttpHeaders();
+        String next = BookingCursor.next(bookings, size);
+        if (next != null) {
+            headers.set(HEADER_NEXT_CURSOR, next);
+        }
+        if (total != null) {
+            headers.set(HEADER_TOTAL_COUNT, String.valueOf(total.getAsLong()));
+        }
+        return ResponseEntity.ok().headers(headers).body(bookings);
     }
 }
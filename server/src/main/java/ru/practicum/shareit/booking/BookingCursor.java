@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.utility.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset position in a booking listing ordered by start and id descending.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingCursor {
+    /**
+     * Order of every booking listing page, offset or keyset, so a cursor taken from an offset page continues it.
+     */
+    public static final Sort ORDER = Sort.by(Sort.Direction.DESC, "start", "id");
+
+    private static final String SEPARATOR = ",";
+
+    private final LocalDateTime start;
+    private final Long id;
+
+    public static BookingCursor decode(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = value.split(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+
+    public static String next(List<BookingDto> page, int size) {
+        if (page.size() < size) {
+            return null;
+        }
+        BookingDto last = page.get(page.size() - 1);
+        return new BookingCursor(last.getStart(), last.getId()).encode();
+    }
+
+    public String encode() {
+        String value = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,8 +2,12 @@ package ru.practicum.shareit.booking;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 
 @UtilityClass
 public class BookingMapper {
@@ -15,11 +19,34 @@ public class BookingMapper {
                 .start(booking.getStart())
                 .end(booking.getEnd())
                 .item(ItemMapper.toItemDto(booking.getItem()))
-                .bookerId(booking.getBooker().getId())
+                .itemId(booking.getItem() == null ? null : booking.getItem().getId())
+                .booker(UserMapper.toUserDto(booking.getBooker()))
+                .bookerId(booking.getBooker() == null ? null : booking.getBooker().getId())
                 .status(booking.getStatus())
                 .build();
     }
 
+    public BookingDto toBookingDto(BookingView view) {
+        if (view == null)
+            return null;
+        return BookingDto.builder()
+                .id(view.getId())
+                .start(view.getStart())
+                .end(view.getEnd())
+                .item(ItemDto.builder()
+                        .id(view.getItemId())
+                        .name(view.getItemName())
+                        .build())
+                .itemId(view.getItemId())
+                .booker(UserDto.builder()
+                        .id(view.getBookerId())
+                        .name(view.getBookerName())
+                        .build())
+                .bookerId(view.getBookerId())
+                .status(view.getStatus())
+                .build();
+    }
+
     public Booking toBooking(BookingDto bookingDto) {
         if (bookingDto == null)
             return null;
@@ -30,4 +57,4 @@ public class BookingMapper {
                 .status(bookingDto.getStatus())
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -1,44 +1,39 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.VersionStamp;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-@Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Page<Booking> findByBooker(User user, Pageable pageable);
-
-    Page<Booking> findByBookerAndStartIsAfter(User user, LocalDateTime start, Pageable pageable);
-
-    Page<Booking> findByBookerAndEndIsBefore(User user, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findByBookerAndStartIsBeforeAndEndIsAfter(User user, LocalDateTime start,
-                                                            LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findByBookerAndStatus(User user, BookingStatus status, Pageable pageable);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-    Page<Booking> findByItemOwner(User user, Pageable pageable);
-
-    Page<Booking> findByItemOwnerAndStartIsAfter(User user, LocalDateTime start, Pageable pageable);
-
-    Page<Booking> findByItemOwnerAndEndIsBefore(User user, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findByItemOwnerAndStartIsBeforeAndEndIsAfter(User user, LocalDateTime start,
-                                                               LocalDateTime end, Pageable pageable);
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingViewRepository,
+        BookingBatchRepository {
+    String BOOKING_GRAPH = "Booking.full";
 
-    Page<Booking> findByItemOwnerAndStatus(User user, BookingStatus status, Pageable pageable);
+    @Override
+    @EntityGraph(BOOKING_GRAPH)
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findByItem(Item item);
+    boolean existsByItemIdAndStatusAndStartIsBeforeAndEndIsAfter(Long itemId, BookingStatus status,
+                                                                 LocalDateTime end, LocalDateTime start);
 
     List<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime end, Sort sort);
 
@@ -46,16 +41,76 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 //
 //    List<Booking> findByItemAndStartIsAfterAndStatus(Item item, LocalDateTime now, BookingStatus status, Sort sort);
 
+    @EntityGraph(attributePaths = "booker")
     @Query("SELECT b FROM Booking b WHERE b.item = :item " +
             "AND b.start < :now AND b.status = :status ORDER BY b.start DESC")
-    Page<Booking> findLastBooking(@Param("item") Item item,
+    List<Booking> findLastBooking(@Param("item") Item item,
                                   @Param("now") LocalDateTime now,
                                   @Param("status") BookingStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = "booker")
     @Query("SELECT b FROM Booking b WHERE b.item = :item AND b.start > :now " +
             "AND b.status = :status ORDER BY b.start ASC")
-    Page<Booking> findNextBooking(@Param("item") Item item,
+    List<Booking> findNextBooking(@Param("item") Item item,
                                   @Param("now") LocalDateTime now,
                                   @Param("status") BookingStatus status, Pageable pageable);
 
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker WHERE b.item.id IN :itemIds AND b.status = :status " +
+            "AND b.start = (SELECT max(lb.start) FROM Booking lb WHERE lb.item = b.item " +
+            "AND lb.status = :status AND lb.start < :now)")
+    List<Booking> findLastBookings(@Param("itemIds") Collection<Long> itemIds,
+                                   @Param("now") LocalDateTime now,
+                                   @Param("status") BookingStatus status);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.booker WHERE b.item.id IN :itemIds AND b.status = :status " +
+            "AND b.start = (SELECT min(nb.start) FROM Booking nb WHERE nb.item = b.item " +
+            "AND nb.status = :status AND nb.start > :now)")
+    List<Booking> findNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                   @Param("now") LocalDateTime now,
+                                   @Param("status") BookingStatus status);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.item.owner.id AS ownerId, b.start AS startDate, " +
+            "b.end AS endDate FROM Booking b WHERE b.id IN :ids")
+    List<BookingTarget> findTargets(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids ORDER BY b.id")
+    List<Booking> lockAllById(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.item.id AS itemId, b.start AS startDate, b.end AS endDate FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status " +
+            "AND b.start < :windowEnd AND b.end > :windowStart")
+    List<BookingSlot> findSlots(@Param("itemIds") Collection<Long> itemIds,
+                                @Param("status") BookingStatus status,
+                                @Param("windowStart") LocalDateTime windowStart,
+                                @Param("windowEnd") LocalDateTime windowEnd);
+
+    @Query("SELECT b.item.id AS itemId, b.start AS startDate, b.end AS endDate FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status")
+    List<BookingSlot> findAllSlots(@Param("itemIds") Collection<Long> itemIds,
+                                   @Param("status") BookingStatus status);
+
+    /**
+     * Items whose bookings in the status go away in cascade when the user is deleted: the user's own bookings,
+     * bookings of the user's items and bookings of items added in answer to the user's requests.
+     */
+    @Query("SELECT DISTINCT i.id FROM Booking b JOIN b.item i LEFT JOIN i.request r " +
+            "WHERE b.status = :status AND (b.booker.id = :userId OR i.owner.id = :userId OR r.requestor.id = :userId)")
+    List<Long> findItemIdsDependingOnUser(@Param("userId") Long userId, @Param("status") BookingStatus status);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b.item.id AS itemId, b.start AS startDate, b.end AS endDate FROM Booking b " +
+            "WHERE b.status = :status")
+    Stream<BookingSlot> streamSlots(@Param("status") BookingStatus status);
+
+    /**
+     * Stamp of the bookings an owner sees on the item page. Bookings that have already started are counted
+     * into the versions as well, so the stamp moves when a booking turns from next into last.
+     */
+    @Query("SELECT count(b) AS total, coalesce(sum(b.id), 0) AS ids, " +
+            "coalesce(sum(b.version + u.version + CASE WHEN b.start < :now THEN 1 ELSE 0 END), 0) AS versions " +
+            "FROM Booking b JOIN b.booker u WHERE b.item.id = :itemId AND b.item.owner.id = :ownerId")
+    VersionStamp stampByItemIdAndOwnerId(@Param("itemId") Long itemId,
+                                         @Param("ownerId") Long ownerId,
+                                         @Param("now") LocalDateTime now);
 }
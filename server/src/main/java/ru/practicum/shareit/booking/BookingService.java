@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 
@@ -9,11 +11,19 @@ import java.util.List;
 public interface BookingService {
     Booking create(BookingDto bookingDto, Long userId);
 
+    List<BookingBatchResult> createBatch(List<BookingDto> bookingDtos, Long userId);
+
     Booking approveOrReject(Long bookingId, boolean approved, Long userId);
 
+    List<BookingBatchResult> decideBatch(List<BookingDecision> decisions, Long userId);
+
     Booking get(Long bookingId, Long userId);
 
-    List<Booking> getUserBookings(String state, Long userId, Integer from, Integer size);
+    List<BookingDto> getUserBookings(String state, Long userId, Integer from, Integer size, String after);
+
+    List<BookingDto> getOwnerBookings(String state, Long userId, Pageable pageable, String after);
+
+    long countUserBookings(String state, Long userId);
 
-    List<Booking> getOwnerBookings(String state, Long userId, Pageable pageable);
+    long countOwnerBookings(String state, Long userId);
 }
\ No newline at end of file
@@ -1,25 +1,46 @@
 package ru.practicum.shareit.booking;
 
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.BookableItem;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.utility.BadRequestException;
+import ru.practicum.shareit.utility.InvalidInputException;
 import ru.practicum.shareit.utility.NoSuchIdException;
+import ru.practicum.shareit.utility.RetryOnConflict;
 import ru.practicum.shareit.utility.UnsupportedStateException;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -29,6 +50,9 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final Validator validator;
+    private final BookingSlotLock bookingSlotLock;
+    private final AvailabilityCalendar availabilityCalendar;
 
     @Override
     public Booking create(BookingDto bookingDto, Long userId) {
@@ -48,17 +72,9 @@ public class BookingServiceImpl implements BookingService {
         if (userId.equals(item.getOwner().getId())) {
             throw new NoSuchIdException("Cannot book own item");
         }
-        boolean allow = true;
-        for (Booking booking : bookingRepository.findByItem(item)) {
-            if (booking.status != BookingStatus.APPROVED)
-                continue;
-            if (booking.getEnd().isAfter(bookingDto.getStart()) &&
-                    booking.getStart().isBefore(bookingDto.getEnd())) {
-                allow = false;
-                break;
-            }
-        }
-        if (!allow) {
+        bookingSlotLock.lock(List.of(item.getId()));
+        if (bookingRepository.existsByItemIdAndStatusAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.APPROVED, bookingDto.getEnd(), bookingDto.getStart())) {
             throw new NoSuchIdException("Booking conflict");
         }
         bookingDto.setStatus(BookingStatus.WAITING);
@@ -68,7 +84,88 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.save(booking);
     }
 
+    /**
+     * Validates every element on its own and inserts the valid ones in one JDBC batch. Items are loaded and
+     * approved bookings are checked for the whole batch with one query each, under the slot locks of all
+     * items involved; elements overlapping an earlier element for the same item are rejected as well.
+     */
+    @Override
+    public List<BookingBatchResult> createBatch(List<BookingDto> bookingDtos, Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+        Set<Long> itemIds = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, BookableItem> items = itemIds.isEmpty() ? Map.of() : itemRepository.findBookable(itemIds).stream()
+                .collect(Collectors.toMap(BookableItem::getId, Function.identity()));
+
+        BookingBatchResult[] results = new BookingBatchResult[bookingDtos.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingBatchResult rejection = check(i, bookingDtos.get(i), items, userId);
+            if (rejection == null) {
+                candidates.add(i);
+            } else {
+                results[i] = rejection;
+            }
+        }
+
+        bookingSlotLock.lock(candidates.stream()
+                .map(i -> bookingDtos.get(i).getItemId())
+                .collect(Collectors.toSet()));
+        Map<Long, List<BookingSlot>> approved = approvedSlots(candidates, bookingDtos);
+        Map<Long, List<Integer>> accepted = new HashMap<>();
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i : candidates) {
+            BookingDto dto = bookingDtos.get(i);
+            List<Integer> sameItem = accepted.computeIfAbsent(dto.getItemId(), id -> new ArrayList<>());
+            Optional<Integer> overlapping = sameItem.stream()
+                    .filter(j -> overlaps(dto, bookingDtos.get(j).getStart(), bookingDtos.get(j).getEnd()))
+                    .findFirst();
+            if (approved.getOrDefault(dto.getItemId(), List.of()).stream()
+                    .anyMatch(slot -> overlaps(dto, slot.getStartDate(), slot.getEndDate()))) {
+                results[i] = rejected(i, HttpStatus.NOT_FOUND, "Booking conflict");
+            } else if (overlapping.isPresent()) {
+                results[i] = rejected(i, HttpStatus.CONFLICT,
+                        "Overlaps booking " + overlapping.get() + " of this batch");
+            } else {
+                sameItem.add(i);
+                positions.add(i);
+                bookings.add(Booking.builder()
+                        .start(dto.getStart())
+                        .end(dto.getEnd())
+                        .item(Item.builder().id(dto.getItemId()).build())
+                        .booker(User.builder().id(userId).build())
+                        .status(BookingStatus.WAITING)
+                        .build());
+            }
+        }
+
+        bookingRepository.insertAll(bookings);
+        for (int k = 0; k < bookings.size(); k++) {
+            Booking booking = bookings.get(k);
+            results[positions.get(k)] = BookingBatchResult.builder()
+                    .index(positions.get(k))
+                    .status(HttpStatus.CREATED.value())
+                    .booking(BookingDto.builder()
+                            .id(booking.getId())
+                            .start(booking.getStart())
+                            .end(booking.getEnd())
+                            .itemId(booking.getItem().getId())
+                            .bookerId(userId)
+                            .status(booking.getStatus())
+                            .build())
+                    .build();
+        }
+        return Arrays.asList(results);
+    }
+
     @Override
+    @RetryOnConflict
     public Booking approveOrReject(Long bookingId, boolean approved, Long userId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Booking not found"));
@@ -80,13 +177,116 @@ public class BookingServiceImpl implements BookingService {
         }
 
         if (approved) {
+            bookingSlotLock.lock(List.of(booking.getItem().getId()));
+            if (bookingRepository.existsByItemIdAndStatusAndStartIsBeforeAndEndIsAfter(booking.getItem().getId(),
+                    BookingStatus.APPROVED, booking.getEnd(), booking.getStart())) {
+                throw new InvalidInputException("Booking conflicts with an approved booking");
+            }
             booking.setStatus(BookingStatus.APPROVED);
+            availabilityCalendar.approved(booking.getItem().getId(), booking.getStart(), booking.getEnd());
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
         return booking;
     }
 
+    /**
+     * Decides the owner's WAITING bookings with one UPDATE. Bookings are looked up with one query, their items
+     * are slot-locked in the same order as a single approval would, and the booking rows are then locked to
+     * read their current status. Approvals are checked against approved bookings and against earlier
+     * approvals of the same batch.
+     */
+    @Override
+    @RetryOnConflict
+    public List<BookingBatchResult> decideBatch(List<BookingDecision> decisions, Long userId) {
+        BookingBatchResult[] results = new BookingBatchResult[decisions.size()];
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            BookingDecision decision = decisions.get(i);
+            if (decision == null || decision.getBookingId() == null || decision.getApproved() == null) {
+                results[i] = rejected(i, HttpStatus.BAD_REQUEST, "Booking id and decision are required");
+            } else if (positions.putIfAbsent(decision.getBookingId(), i) != null) {
+                results[i] = rejected(i, HttpStatus.BAD_REQUEST,
+                        "Duplicates decision " + positions.get(decision.getBookingId()) + " of this batch");
+            }
+        }
+        Map<Long, BookingTarget> targets = positions.isEmpty() ? Map.of()
+                : bookingRepository.findTargets(positions.keySet()).stream()
+                .filter(target -> userId.equals(target.getOwnerId()))
+                .collect(Collectors.toMap(BookingTarget::getId, Function.identity()));
+        positions.forEach((id, i) -> {
+            if (!targets.containsKey(id)) {
+                results[i] = rejected(i, HttpStatus.NOT_FOUND, "Booking not found");
+            }
+        });
+        if (targets.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        bookingSlotLock.lock(targets.values().stream()
+                .map(BookingTarget::getItemId)
+                .collect(Collectors.toSet()));
+        Map<Long, Booking> bookings = bookingRepository.lockAllById(targets.keySet()).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<Long, List<BookingSlot>> approved = approvedSlots(targets.values());
+        Map<Long, BookingStatus> accepted = new LinkedHashMap<>();
+        Map<Long, List<Integer>> approvedInBatch = new HashMap<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Booking booking = bookings.get(decisions.get(i).getBookingId());
+            if (booking == null) {
+                results[i] = rejected(i, HttpStatus.NOT_FOUND, "Booking not found");
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                results[i] = rejected(i, HttpStatus.BAD_REQUEST, "Cannot change state");
+            } else if (!decisions.get(i).getApproved()) {
+                accepted.put(booking.getId(), BookingStatus.REJECTED);
+            } else {
+                List<Integer> sameItem = approvedInBatch.computeIfAbsent(booking.getItem().getId(),
+                        id -> new ArrayList<>());
+                Optional<Integer> overlapping = sameItem.stream()
+                        .filter(j -> overlaps(booking, bookings.get(decisions.get(j).getBookingId())))
+                        .findFirst();
+                if (approved.getOrDefault(booking.getItem().getId(), List.of()).stream()
+                        .anyMatch(slot -> booking.getStart().isBefore(slot.getEndDate())
+                                && booking.getEnd().isAfter(slot.getStartDate()))) {
+                    results[i] = rejected(i, HttpStatus.CONFLICT, "Booking conflicts with an approved booking");
+                } else if (overlapping.isPresent()) {
+                    results[i] = rejected(i, HttpStatus.CONFLICT,
+                            "Overlaps decision " + overlapping.get() + " of this batch");
+                } else {
+                    sameItem.add(i);
+                    accepted.put(booking.getId(), BookingStatus.APPROVED);
+                }
+            }
+        }
+
+        if (bookingRepository.decideAll(accepted, userId) != accepted.size()) {
+            throw new ObjectOptimisticLockingFailureException(Booking.class, accepted.keySet());
+        }
+        accepted.forEach((id, status) -> {
+            Booking booking = bookings.get(id);
+            int i = positions.get(id);
+            if (status == BookingStatus.APPROVED) {
+                availabilityCalendar.approved(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+            }
+            results[i] = BookingBatchResult.builder()
+                    .index(i)
+                    .status(HttpStatus.OK.value())
+                    .booking(BookingDto.builder()
+                            .id(id)
+                            .start(booking.getStart())
+                            .end(booking.getEnd())
+                            .itemId(booking.getItem().getId())
+                            .bookerId(booking.getBooker().getId())
+                            .status(status)
+                            .build())
+                    .build();
+        });
+        return Arrays.asList(results);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Booking get(Long bookingId, Long userId) {
@@ -101,94 +301,115 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Booking> getUserBookings(String stateString, Long userId, Integer from, Integer size) {
+    public List<BookingDto> getUserBookings(String stateString, Long userId, Integer from, Integer size,
+                                            String after) {
+        Pageable pageable = CustomPageRequest.of(from, size, BookingCursor.ORDER);
+        return findBookings(BookingRole.BOOKER, stateString, userId, pageable, after);
+    }
 
-        Pageable pageable = CustomPageRequest.of(from, size, Sort.by("start").descending());
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getOwnerBookings(String stateString, Long userId, Pageable pageable, String after) {
+        return findBookings(BookingRole.OWNER, stateString, userId, pageable, after);
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchIdException("User not found"));
+    @Override
+    @Transactional(readOnly = true)
+    public long countUserBookings(String stateString, Long userId) {
+        return bookingRepository.countViews(BookingRole.BOOKER, parseState(stateString), userId, LocalDateTime.now());
+    }
 
-        BookingRequestState state;
-        try {
-            state = BookingRequestState.valueOf(stateString);
-        } catch (Exception e) {
-            throw new UnsupportedStateException("Unknown state: " + stateString);
+    @Override
+    @Transactional(readOnly = true)
+    public long countOwnerBookings(String stateString, Long userId) {
+        return bookingRepository.countViews(BookingRole.OWNER, parseState(stateString), userId, LocalDateTime.now());
+    }
+
+    private List<BookingDto> findBookings(BookingRole role, String stateString, Long userId, Pageable pageable,
+                                          String after) {
+        BookingRequestState state = parseState(stateString);
+        BookingCursor cursor = BookingCursor.decode(after);
+        if (cursor != null) {
+            pageable = PageRequest.of(0, pageable.getPageSize(), BookingCursor.ORDER);
+        }
+        List<BookingView> bookings = bookingRepository.findViews(role, state, userId, LocalDateTime.now(), cursor,
+                pageable);
+        if (bookings.isEmpty() && !userRepository.existsById(userId)) {
+            throw new NoSuchIdException("User not found");
+        }
+        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+    }
+
+    private BookingBatchResult check(int index, BookingDto dto, Map<Long, BookableItem> items, Long userId) {
+        if (dto == null) {
+            return rejected(index, HttpStatus.BAD_REQUEST, "Booking is missing");
+        }
+        Set<ConstraintViolation<BookingDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return rejected(index, HttpStatus.BAD_REQUEST, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        if (!dto.getEnd().isAfter(dto.getStart())) {
+            return rejected(index, HttpStatus.BAD_REQUEST, "Booking end date is not after start date");
         }
+        BookableItem item = items.get(dto.getItemId());
+        if (item == null) {
+            return rejected(index, HttpStatus.NOT_FOUND, "Item not found");
+        }
+        if (!item.getAvailable()) {
+            return rejected(index, HttpStatus.BAD_REQUEST, "Item not available");
+        }
+        if (userId.equals(item.getOwnerId())) {
+            return rejected(index, HttpStatus.NOT_FOUND, "Cannot book own item");
+        }
+        return null;
+    }
 
-        List<Booking> bookings;
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByBooker(user, pageable).toList();
-                break;
-            case PAST:
-                bookings = bookingRepository.findByBookerAndEndIsBefore(user, LocalDateTime.now(),
-                        pageable).toList();
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByBookerAndStartIsAfter(user, LocalDateTime.now(),
-                        pageable).toList();
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByBookerAndStartIsBeforeAndEndIsAfter(user, LocalDateTime.now(),
-                        LocalDateTime.now(), pageable).toList();
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBookerAndStatus(user, BookingStatus.WAITING,
-                        pageable).toList();
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBookerAndStatus(user, BookingStatus.REJECTED,
-                        pageable).toList();
-                break;
-            default:
-                bookings = new ArrayList<>();
-                break;
-        }
-        return bookings;
+    private Map<Long, List<BookingSlot>> approvedSlots(List<Integer> candidates, List<BookingDto> bookingDtos) {
+        if (candidates.isEmpty()) {
+            return Map.of();
+        }
+        List<BookingDto> dtos = candidates.stream().map(bookingDtos::get).collect(Collectors.toList());
+        LocalDateTime windowStart = dtos.stream().map(BookingDto::getStart).min(Comparator.naturalOrder()).get();
+        LocalDateTime windowEnd = dtos.stream().map(BookingDto::getEnd).max(Comparator.naturalOrder()).get();
+        Set<Long> itemIds = dtos.stream().map(BookingDto::getItemId).collect(Collectors.toSet());
+        return bookingRepository.findSlots(itemIds, BookingStatus.APPROVED, windowStart, windowEnd).stream()
+                .collect(Collectors.groupingBy(BookingSlot::getItemId));
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<Booking> getOwnerBookings(String stateString, Long userId, Pageable pageable) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchIdException("User not found"));
+    private Map<Long, List<BookingSlot>> approvedSlots(Collection<BookingTarget> targets) {
+        LocalDateTime windowStart = targets.stream().map(BookingTarget::getStartDate)
+                .min(Comparator.naturalOrder()).get();
+        LocalDateTime windowEnd = targets.stream().map(BookingTarget::getEndDate)
+                .max(Comparator.naturalOrder()).get();
+        Set<Long> itemIds = targets.stream().map(BookingTarget::getItemId).collect(Collectors.toSet());
+        return bookingRepository.findSlots(itemIds, BookingStatus.APPROVED, windowStart, windowEnd).stream()
+                .collect(Collectors.groupingBy(BookingSlot::getItemId));
+    }
+
+    private static boolean overlaps(BookingDto dto, LocalDateTime start, LocalDateTime end) {
+        return dto.getStart().isBefore(end) && dto.getEnd().isAfter(start);
+    }
+
+    private static boolean overlaps(Booking booking, Booking other) {
+        return booking.getStart().isBefore(other.getEnd()) && booking.getEnd().isAfter(other.getStart());
+    }
+
+    private static BookingBatchResult rejected(int index, HttpStatus status, String error) {
+        return BookingBatchResult.builder()
+                .index(index)
+                .status(status.value())
+                .error(error)
+                .build();
+    }
 
-        BookingRequestState state;
+    private static BookingRequestState parseState(String stateString) {
         try {
-            state = BookingRequestState.valueOf(stateString);
+            return BookingRequestState.valueOf(stateString);
         } catch (Exception e) {
             throw new UnsupportedStateException("Unknown state: " + stateString);
         }
-        List<Booking> bookings;
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findByItemOwner(user, pageable).toList();
-                break;
-            case PAST:
-                bookings = bookingRepository.findByItemOwnerAndEndIsBefore(user, LocalDateTime.now(),
-                        pageable).toList();
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findByItemOwnerAndStartIsAfter(user, LocalDateTime.now(),
-                        pageable).toList();
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findByItemOwnerAndStartIsBeforeAndEndIsAfter(user, LocalDateTime.now(),
-                        LocalDateTime.now(), pageable).toList();
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByItemOwnerAndStatus(user, BookingStatus.WAITING,
-                        pageable).toList();
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByItemOwnerAndStatus(user, BookingStatus.REJECTED,
-                        pageable).toList();
-                break;
-            default:
-                bookings = new ArrayList<>();
-                break;
-        }
-        return bookings;
     }
 }
-
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Collection;
+
+/**
+ * Serializes booking writes per item. A lock taken inside a transaction is held until that transaction
+ * completes, so a conflict check and the write it guards are never interleaved with another writer's.
+ */
+public interface BookingSlotLock {
+    void lock(Collection<Long> itemIds);
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+public interface BookingTarget {
+    Long getId();
+
+    Long getItemId();
+
+    Long getOwnerId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingViewRepository {
+    List<BookingView> findViews(BookingRole role, BookingRequestState state, Long userId,
+                                LocalDateTime now, BookingCursor after, Pageable pageable);
+
+    long countViews(BookingRole role, BookingRequestState state, Long userId, LocalDateTime now);
+}
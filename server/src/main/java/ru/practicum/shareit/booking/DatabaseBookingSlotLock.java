@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.Collection;
+
+/**
+ * Takes {@code SELECT ... FOR UPDATE} row locks on the items, in id order so concurrent batches cannot
+ * deadlock. Works across server instances; row locks are released by the database on commit or rollback.
+ */
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.lock", havingValue = "database", matchIfMissing = true)
+public class DatabaseBookingSlotLock implements BookingSlotLock {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public void lock(Collection<Long> itemIds) {
+        if (!itemIds.isEmpty()) {
+            itemRepository.lockAllById(itemIds);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * In-JVM lock striped by item id, for single-instance setups such as the embedded H2 profile. Stripes are
+ * taken in index order to avoid deadlocks and released after the surrounding transaction completes.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.lock", havingValue = "jvm")
+public class StripedBookingSlotLock implements BookingSlotLock {
+    private static final int STRIPES = 64;
+
+    private final List<ReentrantLock> stripes = IntStream.range(0, STRIPES)
+            .mapToObj(i -> new ReentrantLock())
+            .collect(Collectors.toList());
+
+    @Override
+    public void lock(Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking slots can only be locked inside a transaction");
+        }
+        List<ReentrantLock> held = itemIds.stream()
+                .map(id -> Math.floorMod(Long.hashCode(id), STRIPES))
+                .distinct()
+                .sorted()
+                .map(stripes::get)
+                .collect(Collectors.toList());
+        held.forEach(ReentrantLock::lock);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                held.forEach(ReentrantLock::unlock);
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.calendar;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Approved bookings per item for the availability reads. Booking conflicts are always checked against the
+ * bookings table; the calendar only answers what is booked or free in a window. The update hooks are called
+ * by the writers inside their transactions and take effect after commit.
+ */
+public interface AvailabilityCalendar {
+    boolean isBooked(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Items among the given ones that have an approved booking intersecting the window.
+     */
+    Set<Long> bookedItems(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
+
+    List<Interval> booked(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    List<Interval> free(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    void approved(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    void remove(Long itemId);
+
+    /**
+     * Reloads the items from bookings after commit, for deletes that remove approved bookings in cascade.
+     */
+    void reload(Collection<Long> itemIds);
+}
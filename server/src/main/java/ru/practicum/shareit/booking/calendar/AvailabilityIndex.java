@@ -0,0 +1,198 @@
+package ru.practicum.shareit.booking.calendar;
+
+import ru.practicum.shareit.booking.BookingSlot;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Booked intervals of every item as two sorted arrays of start and end instants in microseconds.
+ * Intervals that overlap or touch are merged on insert, so both arrays stay sorted and a point or range
+ * lookup is a binary search over the ends.
+ */
+public class AvailabilityIndex {
+    private static final long MICROS_PER_SECOND = 1_000_000;
+    private static final int NANOS_PER_MICRO = 1_000;
+
+    private final Map<Long, Intervals> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(long itemId, LocalDateTime start, LocalDateTime end) {
+        lock.writeLock().lock();
+        try {
+            insert(itemId, start, end);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the items and adds the slots loaded for them in their place. The slots are loaded under the write
+     * lock, so an interval added after the load cannot be lost.
+     */
+    public void replace(Collection<Long> itemIds, Supplier<? extends Collection<BookingSlot>> slots) {
+        lock.writeLock().lock();
+        try {
+            itemIds.forEach(items::remove);
+            for (BookingSlot slot : slots.get()) {
+                insert(slot.getItemId(), slot.getStartDate(), slot.getEndDate());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            items.remove(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            items.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isBooked(long itemId, LocalDateTime start, LocalDateTime end) {
+        long from = encode(start);
+        long to = encode(end);
+        lock.readLock().lock();
+        try {
+            Intervals intervals = items.get(itemId);
+            if (intervals == null) {
+                return false;
+            }
+            int i = intervals.firstEndingAfter(from);
+            return i < intervals.size && intervals.starts[i] < to;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Booked intervals intersecting the window, clipped to it, in chronological order.
+     */
+    public List<Interval> booked(long itemId, LocalDateTime start, LocalDateTime end) {
+        long from = encode(start);
+        long to = encode(end);
+        List<Interval> booked = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Intervals intervals = items.get(itemId);
+            if (intervals == null) {
+                return booked;
+            }
+            for (int i = intervals.firstEndingAfter(from); i < intervals.size && intervals.starts[i] < to; i++) {
+                booked.add(new Interval(decode(Math.max(intervals.starts[i], from)),
+                        decode(Math.min(intervals.ends[i], to))));
+            }
+            return booked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gaps between the booked intervals of the window, in chronological order.
+     */
+    public List<Interval> free(long itemId, LocalDateTime start, LocalDateTime end) {
+        List<Interval> free = new ArrayList<>();
+        LocalDateTime cursor = start;
+        for (Interval interval : booked(itemId, start, end)) {
+            if (cursor.isBefore(interval.getStart())) {
+                free.add(new Interval(cursor, interval.getStart()));
+            }
+            cursor = interval.getEnd();
+        }
+        if (cursor.isBefore(end)) {
+            free.add(new Interval(cursor, end));
+        }
+        return free;
+    }
+
+    public Map<String, Object> footprint() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("items", items.size());
+            report.put("intervals", items.values().stream().mapToLong(intervals -> intervals.size).sum());
+            return report;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(long itemId, LocalDateTime start, LocalDateTime end) {
+        long from = encode(start);
+        long to = encode(end);
+        if (from < to) {
+            items.computeIfAbsent(itemId, id -> new Intervals()).add(from, to);
+        }
+    }
+
+    private static long encode(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + time.getNano() / NANOS_PER_MICRO;
+    }
+
+    private static LocalDateTime decode(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * NANOS_PER_MICRO, ZoneOffset.UTC);
+    }
+
+    private static final class Intervals {
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private int size;
+
+        private int firstEndingAfter(long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ends[middle] > time) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        private void add(long start, long end) {
+            int first = firstEndingAfter(start - 1);
+            int last = first;
+            while (last < size && starts[last] <= end) {
+                start = Math.min(start, starts[last]);
+                end = Math.max(end, ends[last]);
+                last++;
+            }
+            int removed = last - first;
+            if (removed == 0 && size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            System.arraycopy(starts, last, starts, first + 1, size - last);
+            System.arraycopy(ends, last, ends, first + 1, size - last);
+            starts[first] = start;
+            ends[first] = end;
+            size += 1 - removed;
+        }
+    }
+}
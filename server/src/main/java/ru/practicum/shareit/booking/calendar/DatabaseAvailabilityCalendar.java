@@ -0,0 +1,77 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingSlot;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the approved bookings of the window from the bookings table on every call, so every server instance
+ * sees the approvals and cascade deletes committed by the others. The update hooks have nothing to do.
+ */
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.lock", havingValue = "database", matchIfMissing = true)
+public class DatabaseAvailabilityCalendar implements AvailabilityCalendar {
+    private static final int IDS_PER_QUERY = 1000;
+
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public boolean isBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.existsByItemIdAndStatusAndStartIsBeforeAndEndIsAfter(itemId,
+                BookingStatus.APPROVED, end, start);
+    }
+
+    @Override
+    public Set<Long> bookedItems(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end) {
+        Set<Long> booked = new HashSet<>();
+        List<Long> ids = new ArrayList<>(itemIds);
+        for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IDS_PER_QUERY, ids.size()));
+            for (BookingSlot slot : bookingRepository.findSlots(chunk, BookingStatus.APPROVED, start, end)) {
+                booked.add(slot.getItemId());
+            }
+        }
+        return booked;
+    }
+
+    @Override
+    public List<Interval> booked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return load(itemId, start, end).booked(itemId, start, end);
+    }
+
+    @Override
+    public List<Interval> free(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return load(itemId, start, end).free(itemId, start, end);
+    }
+
+    @Override
+    public void approved(Long itemId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    @Override
+    public void remove(Long itemId) {
+    }
+
+    @Override
+    public void reload(Collection<Long> itemIds) {
+    }
+
+    private AvailabilityIndex load(Long itemId, LocalDateTime start, LocalDateTime end) {
+        AvailabilityIndex index = new AvailabilityIndex();
+        for (BookingSlot slot : bookingRepository.findSlots(List.of(itemId), BookingStatus.APPROVED, start, end)) {
+            index.add(slot.getItemId(), slot.getStartDate(), slot.getEndDate());
+        }
+        return index;
+    }
+}
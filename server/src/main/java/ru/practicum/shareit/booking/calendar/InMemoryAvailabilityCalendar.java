@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingSlot;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory calendar of approved bookings per item. It is loaded from the bookings table on startup and then
+ * follows only the writes committed on this instance, so it goes stale as soon as a second instance approves or
+ * deletes anything. It is therefore tied to the single-instance setup of {@code shareit.booking.lock=jvm}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking.lock", havingValue = "jvm")
+public class InMemoryAvailabilityCalendar implements AvailabilityCalendar {
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AvailabilityIndex index = new AvailabilityIndex();
+
+    public InMemoryAvailabilityCalendar(BookingRepository bookingRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            index.clear();
+            try (Stream<BookingSlot> slots = bookingRepository.streamSlots(BookingStatus.APPROVED)) {
+                slots.forEach(slot -> index.add(slot.getItemId(), slot.getStartDate(), slot.getEndDate()));
+            }
+        });
+        log.info("Availability calendar built: {}", index.footprint());
+    }
+
+    @Override
+    public boolean isBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return index.isBooked(itemId, start, end);
+    }
+
+    @Override
+    public Set<Long> bookedItems(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end) {
+        return itemIds.stream()
+                .filter(id -> index.isBooked(id, start, end))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<Interval> booked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return index.booked(itemId, start, end);
+    }
+
+    @Override
+    public List<Interval> free(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return index.free(itemId, start, end);
+    }
+
+    @Override
+    public void approved(Long itemId, LocalDateTime start, LocalDateTime end) {
+        afterCommit(() -> index.add(itemId, start, end));
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        afterCommit(() -> index.remove(itemId));
+    }
+
+    @Override
+    public void reload(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(itemIds);
+        afterCommit(() -> index.replace(ids, () -> readOnlyTransaction.execute(status ->
+                bookingRepository.findAllSlots(ids, BookingStatus.APPROVED))));
+    }
+
+    public Map<String, Object> footprint() {
+        return index.footprint();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class Interval {
+    LocalDateTime start;
+    LocalDateTime end;
+}
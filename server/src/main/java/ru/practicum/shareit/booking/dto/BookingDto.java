@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.constraints.Future;
 import javax.validation.constraints.FutureOrPresent;
@@ -27,6 +28,7 @@ public class BookingDto {
     private ItemDto item;
     @NotNull
     private Long itemId;
+    private UserDto booker;
     private Long bookerId;
     public BookingStatus status;
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item;
+
+public interface BookableItem {
+    Long getId();
+
+    Boolean getAvailable();
+
+    Long getOwnerId();
+}
@@ -1,13 +1,26 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.utility.VersionStamp;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.request", "author"})
     List<Comment> findByItem_Id(Long itemId);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id IN :itemIds")
+    List<Comment> findAllByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT count(c) AS total, coalesce(sum(c.id), 0) AS ids, coalesce(sum(a.version), 0) AS versions " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id = :itemId")
+    VersionStamp stampByItemId(@Param("itemId") Long itemId);
 }
 
@@ -2,14 +2,24 @@ package ru.practicum.shareit.item;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.utility.ETags;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,6 +29,7 @@ import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
 @RestController
 @RequestMapping("/items")
 @AllArgsConstructor
+@Validated
 public class ItemController {
 
     private final ItemService itemService;
@@ -44,26 +55,54 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    @ResponseStatus(HttpStatus.OK)
-    public ItemDto get(@PathVariable Long itemId,
-                       @RequestHeader(value = HEADER_USER_ID, required = false, defaultValue = "-1") Long userId) {
+    public ResponseEntity<ItemDto> get(@PathVariable Long itemId,
+                                       @RequestHeader(value = HEADER_USER_ID, required = false, defaultValue = "-1")
+                                       Long userId,
+                                       WebRequest request) {
+        String eTag = itemService.getETag(itemId, userId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            log.info("Item {} not modified", itemId);
+            return null;
+        }
         ItemDto item = itemService.get(itemId, userId);
         log.info("Getting item {}", item.getName());
-        return item;
+        return ETags.ok(item, eTag);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    @ResponseStatus(HttpStatus.OK)
+    public AvailabilityDto getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Getting availability of item {} from {} to {}", itemId, from, to);
+        return itemService.getAvailability(itemId, from, to);
     }
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<ItemDto> getAll(@RequestHeader(HEADER_USER_ID) Long userId) {
+    public List<ItemDto> getAll(
+            @PositiveOrZero @NotNull @RequestParam(value = "from", defaultValue = "0") Integer from,
+            @Positive @NotNull @RequestParam(value = "size", defaultValue = "1000") Integer size,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestHeader(HEADER_USER_ID) Long userId) {
         log.info("Getting all items shared by user with ID {}", userId);
-        return itemService.getAll(userId);
+        return itemService.getAll(userId, from, size, after);
     }
 
     @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
-    public List<ItemDto> search(@RequestParam String text) {
+    public List<ItemDto> search(
+            @RequestParam String text,
+            @PositiveOrZero @NotNull @RequestParam(value = "from", defaultValue = "0") Integer from,
+            @Positive @NotNull @RequestParam(value = "size", defaultValue = "1000") Integer size,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "start", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(value = "end", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
         log.info("Searching for items filtered by text {}", text);
-        return itemService.search(text)
+        return itemService.search(text, from, size, after, start, end)
                 .stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
@@ -1,23 +1,96 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.search.ItemDocument;
+import ru.practicum.shareit.utility.VersionStamp;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByOwner(User owner, Sort sort);
+    @EntityGraph(attributePaths = {"owner", "request"})
+    List<Item> findByOwnerId(Long ownerId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"owner", "request"})
+    List<Item> findByOwnerIdAndIdGreaterThan(Long ownerId, Long id, Pageable pageable);
 
     Item findByName(String name);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> lockAllById(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i.id AS id, i.available AS available, i.owner.id AS ownerId FROM Item i WHERE i.id IN :ids")
+    List<BookableItem> findBookable(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"owner", "request"})
     @Query("select i from Item i where i.available=true " +
+            "AND (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "order by case when upper(i.name) like upper(concat('%', :text, '%')) then 0 else 1 end, i.id")
+    List<Item> search(@Param("text") String text, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"owner", "request"})
+    @Query("select i from Item i where i.available=true AND i.id > :after " +
             "AND (upper(i.name) like upper(concat('%', :text, '%')) " +
             "or upper(i.description) like upper(concat('%', :text, '%')))")
-    List<Item> search(@Param("text") String text);
-}
\ No newline at end of file
+    List<Item> searchAfter(@Param("text") String text, @Param("after") Long after, Pageable pageable);
+
+    /**
+     * Same as {@link #search}, leaving out items with an approved booking overlapping the window.
+     */
+    @EntityGraph(attributePaths = {"owner", "request"})
+    @Query("select i from Item i where i.available=true " +
+            "AND (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "AND not exists (select b.id from Booking b where b.item = i " +
+            "AND b.status = ru.practicum.shareit.booking.BookingStatus.APPROVED " +
+            "AND b.start < :windowEnd AND b.end > :windowStart) " +
+            "order by case when upper(i.name) like upper(concat('%', :text, '%')) then 0 else 1 end, i.id")
+    List<Item> searchFree(@Param("text") String text,
+                          @Param("windowStart") LocalDateTime windowStart,
+                          @Param("windowEnd") LocalDateTime windowEnd,
+                          Pageable pageable);
+
+    @EntityGraph(attributePaths = {"owner", "request"})
+    @Query("select i from Item i where i.available=true AND i.id > :after " +
+            "AND (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "AND not exists (select b.id from Booking b where b.item = i " +
+            "AND b.status = ru.practicum.shareit.booking.BookingStatus.APPROVED " +
+            "AND b.start < :windowEnd AND b.end > :windowStart)")
+    List<Item> searchFreeAfter(@Param("text") String text,
+                               @Param("after") Long after,
+                               @Param("windowStart") LocalDateTime windowStart,
+                               @Param("windowEnd") LocalDateTime windowEnd,
+                               Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new ru.practicum.shareit.item.search.ItemDocument(i.id, i.name, i.description, i.available) " +
+            "from Item i")
+    Stream<ItemDocument> streamAllDocuments();
+
+    @Query("SELECT count(i) AS total, coalesce(sum(i.id), 0) AS ids, " +
+            "coalesce(sum(i.version + o.version), 0) AS versions FROM Item i JOIN i.owner o WHERE i.id = :id")
+    VersionStamp stampById(@Param("id") Long id);
+
+    @Query("SELECT count(i) AS total, coalesce(sum(i.id), 0) AS ids, " +
+            "coalesce(sum(i.version + o.version), 0) AS versions FROM Item i JOIN i.owner o " +
+            "WHERE i.request.id = :requestId")
+    VersionStamp stampByRequestId(@Param("requestId") Long requestId);
+}
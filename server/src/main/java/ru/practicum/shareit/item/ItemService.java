@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,9 +16,16 @@ public interface ItemService {
 
     ItemDto get(Long id, Long userId);
 
-    List<ItemDto> getAll(Long userId);
+    /**
+     * Entity tag of the item page as {@link #get} would build it for the user, or null if there is no such item.
+     */
+    String getETag(Long id, Long userId);
 
-    List<Item> search(String text);
+    List<ItemDto> getAll(Long userId, Integer from, Integer size, Long after);
+
+    AvailabilityDto getAvailability(Long id, LocalDateTime from, LocalDateTime to);
+
+    List<Item> search(String text, Integer from, Integer size, Long after, LocalDateTime start, LocalDateTime end);
 
     void delete(Long id, Long userId);
 
@@ -12,24 +12,34 @@ import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.CustomPageRequest;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.BadRequestException;
+import ru.practicum.shareit.utility.ETags;
 import ru.practicum.shareit.utility.NoSuchIdException;
+import ru.practicum.shareit.utility.RetryOnConflict;
 import ru.practicum.shareit.utility.UnauthorizedAccessException;
 import ru.practicum.shareit.utility.UnsupportedStateException;
+import ru.practicum.shareit.utility.VersionStamp;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -50,6 +60,12 @@ public class ItemServiceImpl implements ItemService {
     @Autowired
     private final ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    private final ItemSearchEngine itemSearchEngine;
+
+    @Autowired
+    private final AvailabilityCalendar availabilityCalendar;
+
     @Override
     public Item add(@Valid ItemDto itemDto, Long userId) {
         User user = userRepository.findById(userId)
@@ -62,11 +78,13 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(itemRequest);
         }
         itemRepository.save(item);
+        itemSearchEngine.index(item);
         log.info("Item {} successfully added", itemDto.getName());
         return item;
     }
 
     @Override
+    @RetryOnConflict
     public Item update(Long id, ItemDto itemDto, Long userId) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found"));
@@ -83,6 +101,7 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
+        itemSearchEngine.index(item);
         log.info("Item {} successfully updated", itemDto.getName());
         return item;
     }
@@ -103,8 +122,20 @@ public class ItemServiceImpl implements ItemService {
         return addCommentsToItem(itemDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getETag(Long id, Long userId) {
+        VersionStamp item = itemRepository.stampById(id);
+        if (item.getTotal() == 0) {
+            return null;
+        }
+        return ETags.of(item,
+                commentRepository.stampByItemId(id),
+                bookingRepository.stampByItemIdAndOwnerId(id, userId, LocalDateTime.now()));
+    }
+
     private ItemDto addCommentsToItem(ItemDto itemDto) {
-        itemDto.setComments(commentRepository.findByItem_Id(itemDto.getId())
+        itemDto.setComments(commentRepository.findAllByItemIds(List.of(itemDto.getId()))
                 .stream().map(CommentMapper::toCommentDto).collect(Collectors.toList()));
         return itemDto;
     }
@@ -117,37 +148,92 @@ public class ItemServiceImpl implements ItemService {
                         item,
                         LocalDateTime.now(),
                         BookingStatus.APPROVED,
-                        PageRequest.of(0, 1)).getContent().stream().findFirst().orElse(null)));
+                        PageRequest.of(0, 1)).stream().findFirst().orElse(null)));
 
         itemDto.setNextBooking(BookingMapper.toBookingDto(
                 bookingRepository.findNextBooking(
                         item,
                         LocalDateTime.now(),
                         BookingStatus.APPROVED,
-                        PageRequest.of(0, 1)).getContent().stream().findFirst().orElse(null)));
+                        PageRequest.of(0, 1)).stream().findFirst().orElse(null)));
 
         return itemDto;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemDto> getAll(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchIdException("User not found"));
-        List<Item> items = itemRepository.findByOwner(user, Sort.by("id").ascending());
+    public List<ItemDto> getAll(Long userId, Integer from, Integer size, Long after) {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchIdException("User not found");
+        }
+        List<Item> items;
+        if (after == null) {
+            items = itemRepository.findByOwnerId(userId, CustomPageRequest.of(from, size, Sort.by("id")));
+        } else {
+            items = itemRepository.findByOwnerIdAndIdGreaterThan(userId, after, PageRequest.of(0, size, Sort.by("id")));
+        }
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, Booking> lastBookings = bookingRepository.findLastBookings(itemIds, now, BookingStatus.APPROVED)
+                .stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first));
+        Map<Long, Booking> nextBookings = bookingRepository.findNextBookings(itemIds, now, BookingStatus.APPROVED)
+                .stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first));
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIds(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+
         return items.stream()
-                .map(this::setLastNextBookings)
-                .map(this::addCommentsToItem)
+                .map(item -> {
+                    ItemDto itemDto = ItemMapper.toItemDto(item);
+                    itemDto.setLastBooking(BookingMapper.toBookingDto(lastBookings.get(item.getId())));
+                    itemDto.setNextBooking(BookingMapper.toBookingDto(nextBookings.get(item.getId())));
+                    itemDto.setComments(comments.getOrDefault(item.getId(), new ArrayList<>()));
+                    return itemDto;
+                })
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Item> search(String text) {
+    public AvailabilityDto getAvailability(Long id, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new BadRequestException("Window end is not after its start");
+        }
+        if (!itemRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Item not found");
+        }
+        return AvailabilityDto.builder()
+                .itemId(id)
+                .from(from)
+                .to(to)
+                .booked(availabilityCalendar.booked(id, from, to))
+                .free(availabilityCalendar.free(id, from, to))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Item> search(String text, Integer from, Integer size, Long after, LocalDateTime start,
+                             LocalDateTime end) {
+        if ((start == null) != (end == null)) {
+            throw new BadRequestException("Search window needs both start and end");
+        }
+        if (start != null && !end.isAfter(start)) {
+            throw new BadRequestException("Window end is not after its start");
+        }
         if (text.isEmpty()) {
             return new ArrayList<>();
         }
-        return itemRepository.search(text);
+        return itemSearchEngine.search(text, from, size, after, start, end);
     }
 
     @Override
@@ -160,6 +246,8 @@ public class ItemServiceImpl implements ItemService {
             throw new UnauthorizedAccessException("User with id " + userId + " is not allowed to delete this item.");
         }
         itemRepository.delete(item);
+        itemSearchEngine.remove(id);
+        availabilityCalendar.remove(id);
     }
 
     @Override
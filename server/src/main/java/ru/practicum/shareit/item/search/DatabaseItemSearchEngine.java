@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.CustomPageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Integer from, Integer size, Long after, LocalDateTime start,
+                             LocalDateTime end) {
+        if (start != null) {
+            if (after == null) {
+                return itemRepository.searchFree(text, start, end, CustomPageRequest.of(from, size, Sort.unsorted()));
+            }
+            return itemRepository.searchFreeAfter(text, after, start, end, PageRequest.of(0, size, Sort.by("id")));
+        }
+        if (after == null) {
+            return itemRepository.search(text, CustomPageRequest.of(from, size, Sort.unsorted()));
+        }
+        return itemRepository.searchAfter(text, after, PageRequest.of(0, size, Sort.by("id")));
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(Long itemId) {
+    }
+}
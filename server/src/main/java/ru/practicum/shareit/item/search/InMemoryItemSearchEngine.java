@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+    private final AvailabilityCalendar availabilityCalendar;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    public InMemoryItemSearchEngine(ItemRepository itemRepository, AvailabilityCalendar availabilityCalendar,
+                                    PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.availabilityCalendar = availabilityCalendar;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ItemDocument> documents = itemRepository.streamAllDocuments()) {
+                documents.forEach(index::put);
+            }
+        });
+        log.info("Item search index built: {}", index.footprint());
+    }
+
+    @Override
+    public List<Item> search(String text, Integer from, Integer size, Long after, LocalDateTime start,
+                             LocalDateTime end) {
+        long[] ids = index.search(text);
+        if (start != null) {
+            Set<Long> booked = availabilityCalendar.bookedItems(Arrays.stream(ids).boxed()
+                    .collect(Collectors.toList()), start, end);
+            ids = Arrays.stream(ids)
+                    .filter(id -> !booked.contains(id))
+                    .toArray();
+        }
+        int offset;
+        if (after == null) {
+            offset = Math.min(from / size * size, ids.length);
+        } else {
+            Arrays.sort(ids);
+            int position = Arrays.binarySearch(ids, after);
+            offset = position >= 0 ? position + 1 : -position - 1;
+        }
+        List<Long> page = Arrays.stream(ids, offset, Math.min(offset + size, ids.length))
+                .boxed()
+                .collect(Collectors.toList());
+        if (page.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Item> items = new HashMap<>();
+        itemRepository.findAllById(page).forEach(item -> items.put(item.getId(), item));
+        return page.stream()
+                .map(items::get)
+                .filter(item -> item != null && Boolean.TRUE.equals(item.getAvailable()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        ItemDocument document = new ItemDocument(item.getId(), item.getName(), item.getDescription(),
+                item.getAvailable());
+        afterCommit(() -> index.put(document));
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        afterCommit(() -> index.remove(itemId));
+    }
+
+    public Map<String, Object> footprint() {
+        return index.footprint();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
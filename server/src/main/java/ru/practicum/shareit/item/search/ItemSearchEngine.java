@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemSearchEngine {
+    /**
+     * Available items matching the text. With a window, items having an approved booking overlapping it
+     * are left out; start and end are either both set or both null.
+     */
+    List<Item> search(String text, Integer from, Integer size, Long after, LocalDateTime start, LocalDateTime end);
+
+    void index(Item item);
+
+    void remove(Long itemId);
+}
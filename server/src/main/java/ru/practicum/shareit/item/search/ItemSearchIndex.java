@@ -0,0 +1,241 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index over item names and descriptions.
+ * Every token of at least three characters is split into trigrams, and each trigram points to a sorted
+ * array of item ids. A query is answered by intersecting the posting lists of its own trigrams and
+ * verifying the candidates with a substring check, which keeps the semantics of the database search.
+ */
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final long MAP_NODE_BYTES = 48;
+    private static final long BOXED_LONG_BYTES = 16;
+    private static final long ENTRY_BYTES = 24;
+    private static final long POSTINGS_BYTES = 24;
+    private static final long STRING_BYTES = 24;
+    private static final long ARRAY_HEADER_BYTES = 16;
+
+    private final Map<Long, Entry> documents = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(ItemDocument document) {
+        Entry entry = new Entry(normalize(document.getName()), normalize(document.getDescription()),
+                Boolean.TRUE.equals(document.getAvailable()));
+        long id = document.getId();
+        lock.writeLock().lock();
+        try {
+            Entry previous = documents.put(id, entry);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            link(id, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = documents.remove(id);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of available items containing the text, name matches first, each group ordered by id.
+     */
+    public long[] search(String text) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            long[] candidates = candidates(query);
+            long[] nameMatches = new long[candidates.length];
+            long[] descriptionMatches = new long[candidates.length];
+            int names = 0;
+            int descriptions = 0;
+            for (long id : candidates) {
+                Entry entry = documents.get(id);
+                if (entry == null || !entry.available) {
+                    continue;
+                }
+                if (entry.name.contains(query)) {
+                    nameMatches[names++] = id;
+                } else if (entry.description.contains(query)) {
+                    descriptionMatches[descriptions++] = id;
+                }
+            }
+            Arrays.sort(nameMatches, 0, names);
+            Arrays.sort(descriptionMatches, 0, descriptions);
+            long[] result = Arrays.copyOf(nameMatches, names + descriptions);
+            System.arraycopy(descriptionMatches, 0, result, names, descriptions);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> footprint() {
+        lock.readLock().lock();
+        try {
+            long postingEntries = 0;
+            long bytes = 0;
+            for (Map.Entry<String, Postings> gram : postings.entrySet()) {
+                postingEntries += gram.getValue().size;
+                bytes += MAP_NODE_BYTES + stringBytes(gram.getKey()) + POSTINGS_BYTES
+                        + ARRAY_HEADER_BYTES + (long) Long.BYTES * gram.getValue().ids.length;
+            }
+            for (Entry entry : documents.values()) {
+                bytes += MAP_NODE_BYTES + BOXED_LONG_BYTES + ENTRY_BYTES
+                        + stringBytes(entry.name) + stringBytes(entry.description);
+            }
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("documents", documents.size());
+            report.put("grams", postings.size());
+            report.put("postingEntries", postingEntries);
+            report.put("estimatedHeapBytes", bytes);
+            return report;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] candidates(String query) {
+        Set<String> grams = grams(query);
+        if (grams.isEmpty()) {
+            return documents.keySet().stream().mapToLong(Long::longValue).toArray();
+        }
+        Postings[] lists = new Postings[grams.size()];
+        int count = 0;
+        for (String gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists[count++] = list;
+        }
+        Arrays.sort(lists, (left, right) -> Integer.compare(left.size, right.size));
+        long[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int size = result.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            size = intersect(result, size, lists[i]);
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int intersect(long[] target, int size, Postings other) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < size && j < other.size; ) {
+            if (target[i] < other.ids[j]) {
+                i++;
+            } else if (target[i] > other.ids[j]) {
+                j++;
+            } else {
+                target[kept++] = target[i];
+                i++;
+                j++;
+            }
+        }
+        return kept;
+    }
+
+    private void link(long id, Entry entry) {
+        for (String gram : grams(entry.name + ' ' + entry.description)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+        }
+    }
+
+    private void unlink(long id, Entry entry) {
+        for (String gram : grams(entry.name + ' ' + entry.description)) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(id) == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        int tokenStart = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && tokenStart < 0) {
+                tokenStart = i;
+            } else if (!tokenChar && tokenStart >= 0) {
+                for (int start = tokenStart; start + GRAM_LENGTH <= i; start++) {
+                    grams.add(text.substring(start, start + GRAM_LENGTH));
+                }
+                tokenStart = -1;
+            }
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long stringBytes(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return STRING_BYTES + ARRAY_HEADER_BYTES + (long) value.length() * (latin1 ? 1 : 2);
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        private Entry(String name, String description, boolean available) {
+            this.name = name;
+            this.description = description;
+            this.available = available;
+        }
+    }
+
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private int remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+            }
+            return size;
+        }
+    }
+}
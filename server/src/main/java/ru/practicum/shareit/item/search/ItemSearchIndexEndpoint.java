@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+@Endpoint(id = "itemsearch")
+public class ItemSearchIndexEndpoint {
+
+    private final InMemoryItemSearchEngine searchEngine;
+
+    @ReadOperation
+    public Map<String, Object> footprint() {
+        return searchEngine.footprint();
+    }
+}
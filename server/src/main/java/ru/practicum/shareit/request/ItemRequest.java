@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -17,6 +19,7 @@ import java.util.List;
 @Entity
 @Table(name = "requests")
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class ItemRequest {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,7 +30,8 @@ public class ItemRequest {
     @NotNull
     private String description;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requestor_id")
     @NotNull
     private User requestor;
@@ -36,6 +40,14 @@ public class ItemRequest {
     @NotNull
     private LocalDateTime created;
 
-    @OneToMany(mappedBy = "request", fetch = FetchType.EAGER)
+    @JsonIgnore
+    @ToString.Exclude
+    @OneToMany(mappedBy = "request", fetch = FetchType.LAZY)
     private List<Item> items = new ArrayList<>();
-}
\ No newline at end of file
+
+    @JsonIgnore
+    @ToString.Exclude
+    @Version
+    @Column(name = "version")
+    private long version;
+}
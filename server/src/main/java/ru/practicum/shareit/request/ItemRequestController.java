@@ -2,9 +2,12 @@ package ru.practicum.shareit.request;
 
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.utility.BadRequestException;
+import ru.practicum.shareit.utility.ETags;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -41,8 +44,13 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestDto getRequest(@PathVariable Long requestId,
-                                     @RequestHeader(HEADER_USER_ID) Long userId) {
-        return itemRequestServiceImpl.getRequest(requestId, userId);
+    public ResponseEntity<ItemRequestDto> getRequest(@PathVariable Long requestId,
+                                                     @RequestHeader(HEADER_USER_ID) Long userId,
+                                                     WebRequest request) {
+        String eTag = itemRequestServiceImpl.getETag(requestId, userId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ETags.ok(itemRequestServiceImpl.getRequest(requestId, userId), eTag);
     }
 }
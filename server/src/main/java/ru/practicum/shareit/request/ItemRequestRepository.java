@@ -2,20 +2,36 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.VersionStamp;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findByRequestorOrderByCreatedDesc(User requestor);
+    @EntityGraph(attributePaths = {"items", "items.owner"})
+    List<ItemRequest> findDistinctByRequestorOrderByCreatedDesc(User requestor);
 
     Page<ItemRequest> findAllByOrderByCreatedDesc(Pageable pageable);
 
+    @Override
+    @EntityGraph(attributePaths = {"items", "items.owner"})
     Optional<ItemRequest> findById(Long requestId);
 
-    List<ItemRequest> findByRequestorIdNotOrderByCreatedDesc(Long userId, Pageable pageable);
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.requestor.id <> :userId ORDER BY r.created DESC")
+    List<Long> findIdsByRequestorIdNot(@Param("userId") Long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"items", "items.owner"})
+    List<ItemRequest> findDistinctByIdInOrderByCreatedDesc(Collection<Long> ids);
+
+    @Query("SELECT count(r) AS total, coalesce(sum(r.id), 0) AS ids, coalesce(sum(r.version), 0) AS versions " +
+            "FROM ItemRequest r WHERE r.id = :id")
+    VersionStamp stampById(@Param("id") Long id);
 }
@@ -14,4 +14,6 @@ public interface ItemRequestService {
                                         Pageable pageable);
 
     ItemRequestDto getRequest(Long requestId, Long userId);
+
+    String getETag(Long requestId, Long userId);
 }
@@ -4,12 +4,16 @@ import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.ETags;
 import ru.practicum.shareit.utility.NoSuchIdException;
+import ru.practicum.shareit.utility.VersionStamp;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,6 +24,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
 
     @Override
     public ItemRequestDto createRequest(ItemRequestDto itemRequestDto, Long userId) {
@@ -36,7 +41,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDto> getOwnRequests(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NoSuchIdException("User not found"));
-        return itemRequestRepository.findByRequestorOrderByCreatedDesc(user)
+        return itemRequestRepository.findDistinctByRequestorOrderByCreatedDesc(user)
                 .stream().map(ItemRequestMapper::toItemRequestDto)
                 .collect(Collectors.toList());
     }
@@ -46,7 +51,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         if (!userRepository.existsById(userId)) {
             throw new NoSuchIdException("User not found");
         }
-        return itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(userId, pageable)
+        List<Long> ids = itemRequestRepository.findIdsByRequestorIdNot(userId, pageable);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemRequestRepository.findDistinctByIdInOrderByCreatedDesc(ids)
                 .stream()
                 .map(ItemRequestMapper::toItemRequestDto)
                 .collect(Collectors.toList());
@@ -60,5 +69,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .orElseThrow(() -> new NoSuchIdException("Not found"));
         return ItemRequestMapper.toItemRequestDto(itemRequest);
     }
-}
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getETag(Long requestId, Long userId) {
+        if (!userRepository.existsById(userId)) {
+            return null;
+        }
+        VersionStamp request = itemRequestRepository.stampById(requestId);
+        if (request.getTotal() == 0) {
+            return null;
+        }
+        return ETags.of(request, itemRepository.stampByRequestId(requestId));
+    }
+}
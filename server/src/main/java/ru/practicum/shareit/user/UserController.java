@@ -3,8 +3,11 @@ package ru.practicum.shareit.user;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.utility.ETags;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -27,12 +30,16 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    @ResponseStatus(HttpStatus.OK)
-    public UserDto get(@PathVariable Long userId) {
+    public ResponseEntity<UserDto> get(@PathVariable Long userId, WebRequest request) {
         log.info("Fetching user with id {}", userId);
+        String eTag = userService.getETag(userId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            log.info("User with id {} not modified", userId);
+            return null;
+        }
         UserDto user = userService.getById(userId);
         log.info("Fetched user with id {}", userId);
-        return user;
+        return ETags.ok(user, eTag);
     }
 
     @PatchMapping("/{userId}")
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.VersionStamp;
 
 import java.util.Optional;
 
@@ -11,4 +14,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     Optional<User> findByName(String name);
+
+    @Query("SELECT count(u) AS total, coalesce(sum(u.id), 0) AS ids, coalesce(sum(u.version), 0) AS versions " +
+            "FROM User u WHERE u.id = :id")
+    VersionStamp stampById(@Param("id") Long id);
 }
\ No newline at end of file
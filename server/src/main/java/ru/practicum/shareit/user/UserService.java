@@ -10,6 +10,8 @@ public interface UserService {
 
     UserDto getById(Long id);
 
+    String getETag(Long id);
+
     List<UserDto> getAll();
 
     UserDto update(Long id, UserDto user);
@@ -4,10 +4,15 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.ETags;
 import ru.practicum.shareit.utility.InvalidInputException;
 import ru.practicum.shareit.utility.NoSuchIdException;
+import ru.practicum.shareit.utility.VersionStamp;
 
 import java.util.List;
 import java.util.Objects;
@@ -21,6 +26,8 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository repository;
+    private final BookingRepository bookingRepository;
+    private final AvailabilityCalendar availabilityCalendar;
 
     @Override
     public UserDto add(UserDto userDto) {
@@ -37,6 +44,13 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserDto(user);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getETag(Long id) {
+        VersionStamp user = repository.stampById(id);
+        return user.getTotal() == 0 ? null : ETags.of(user);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<UserDto> getAll() {
@@ -67,7 +81,9 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void delete(Long id) {
+        List<Long> itemIds = bookingRepository.findItemIdsDependingOnUser(id, BookingStatus.APPROVED);
         repository.deleteById(id);
+        availabilityCalendar.reload(itemIds);
     }
 }
 
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.user.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 
 import javax.persistence.*;
@@ -13,6 +15,7 @@ import javax.validation.constraints.NotBlank;
 @Entity
 @Table(name = "users")
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,4 +33,10 @@ public class User {
     @Column(name = "email")
     @EqualsAndHashCode.Include
     private String email;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @Version
+    @Column(name = "version")
+    private long version;
 }
@@ -2,4 +2,7 @@ package ru.practicum.shareit.utility;
 
 public class Constants {
     public static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+    public static final String HEADER_TOTAL_COUNT = "X-Total-Count";
+    public static final int MAX_BATCH_SIZE = 500;
 }
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.utility;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Listings have no single version to derive a tag from, so they get a tag hashed from the response body.
+ * This saves the transfer, not the work; single resources set version-based tags in their controllers.
+ */
+@Configuration
+public class ETagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/users", "/items", "/items/search", "/requests", "/requests/all",
+                "/bookings", "/bookings/owner");
+        return registration;
+    }
+}
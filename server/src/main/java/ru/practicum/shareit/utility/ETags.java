@@ -0,0 +1,32 @@
+package ru.practicum.shareit.utility;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+@UtilityClass
+public class ETags {
+
+    /**
+     * Strong entity tag over the given stamps, in order.
+     */
+    public static String of(VersionStamp... stamps) {
+        StringBuilder source = new StringBuilder();
+        for (VersionStamp stamp : stamps) {
+            source.append(stamp.getTotal()).append(':')
+                    .append(stamp.getIds()).append(':')
+                    .append(stamp.getVersions()).append(';');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static <T> ResponseEntity<T> ok(T body, String eTag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        return response.body(body);
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.utility;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -57,6 +59,28 @@ public class ErrorHandler {
         );
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> dataConflict(final DataIntegrityViolationException e) {
+        log.error("Data integrity violation. Response code: {}", HttpStatus.CONFLICT.value());
+        return new ResponseEntity<>(
+                Map.of(
+                        "error", "Conflict",
+                        "errorMessage", "The change conflicts with existing data"),
+                HttpStatus.CONFLICT
+        );
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> concurrentUpdate(final OptimisticLockingFailureException e) {
+        log.error("Concurrent update. Response code: {}", HttpStatus.CONFLICT.value());
+        return new ResponseEntity<>(
+                Map.of(
+                        "error", "Conflict",
+                        "errorMessage", "The resource was changed concurrently, please retry"),
+                HttpStatus.CONFLICT
+        );
+    }
+
     public ResponseEntity<Map<String, String>> exceptionFound(final RuntimeException e) {
         log.error("Exception found. Response code: {}", HttpStatus.INTERNAL_SERVER_ERROR.value());
         return new ResponseEntity<>(
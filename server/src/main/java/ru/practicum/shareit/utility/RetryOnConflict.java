@@ -0,0 +1,25 @@
+package ru.practicum.shareit.utility;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional write that lost an optimistic {@code @Version} check at commit. The retry advice
+ * wraps the transaction, so every attempt re-reads current state and re-applies its own checks; once the
+ * attempts are used up the conflict reaches {@link ErrorHandler} as 409.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(value = ObjectOptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${shareit.retry.max-attempts:3}",
+        backoff = @Backoff(delayExpression = "${shareit.retry.delay:20}", multiplier = 2, random = true))
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.utility;
+
+/**
+ * Aggregate validator of a set of rows: how many there are, the sum of their ids and the sum of their
+ * {@code @Version} counters. Versions only grow, so any insert, delete or update changes at least one part.
+ */
+public interface VersionStamp {
+    Long getTotal();
+
+    Long getIds();
+
+    Long getVersions();
+}
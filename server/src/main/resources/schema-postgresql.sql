@@ -0,0 +1,29 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (upper(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (upper(description) gin_trgm_ops);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Added once. A database that already holds overlapping APPROVED bookings is migrated first: walking them in id
+-- order, a booking overlapping an earlier one that is still approved is set to REJECTED, so the first approval
+-- of each slot is kept. The body is single-quoted rather than dollar-quoted because the script runner splits
+-- statements on semicolons outside quotes only.
+DO '
+DECLARE
+    b RECORD;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_approved_overlap'') THEN
+        RETURN;
+    END IF;
+    FOR b IN SELECT id, item_id, start_date, end_date FROM bookings WHERE status = ''APPROVED'' ORDER BY id LOOP
+        UPDATE bookings SET status = ''REJECTED''
+        WHERE id = b.id
+          AND EXISTS (SELECT 1 FROM bookings o
+                      WHERE o.item_id = b.item_id AND o.status = ''APPROVED'' AND o.id < b.id
+                        AND o.start_date < b.end_date AND o.end_date > b.start_date);
+    END LOOP;
+    ALTER TABLE bookings ADD CONSTRAINT ex_bookings_approved_overlap
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status = ''APPROVED'');
+END';
@@ -4,18 +4,24 @@ CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name      VARCHAR(255) NOT NULL,
     email          VARCHAR(255) NOT NULL,
+    version        BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT pk_user       PRIMARY KEY (id),
     CONSTRAINT uq_user_email UNIQUE (email)
     );
 
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS requests (
     id   BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     description  VARCHAR(1000) NOT NULL,
     requestor_id BIGINT REFERENCES users (id) ON DELETE CASCADE,
     created TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT pk_request PRIMARY KEY (id)
     );
 
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS items (
     id BIGINT     GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     name          VARCHAR(100) NOT NULL,
@@ -23,9 +29,14 @@ CREATE TABLE IF NOT EXISTS items (
     available       BOOLEAN NOT NULL,
     owner_id           BIGINT REFERENCES users (id) ON DELETE CASCADE,
     request_id         BIGINT REFERENCES requests (id) ON DELETE CASCADE,
+    version            BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT pk_item PRIMARY KEY (id)
     );
 
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+
 CREATE TABLE IF NOT EXISTS bookings (
     id        BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     start_date        TIMESTAMP,
@@ -33,9 +44,16 @@ CREATE TABLE IF NOT EXISTS bookings (
     item_id BIGINT    REFERENCES items (id) ON DELETE CASCADE,
     booker_id BIGINT  REFERENCES users (id) ON DELETE CASCADE,
     status            VARCHAR(255),
+    version           BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT pk_booking PRIMARY KEY (id)
     );
 
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_dates ON bookings (item_id, status, start_date, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date, id);
+
 CREATE TABLE IF NOT EXISTS comments (
     id        BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     text              VARCHAR(1000) NOT NULL,
@@ -0,0 +1,158 @@
+package shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ContextConfiguration(classes = ShareItServer.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class EndpointQueryCountTest {
+    private static final int ROWS = 20;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking booking;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = userRepository.save(User.builder().name("owner").email("owner@count.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@count.com").build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            User requestor = userRepository.save(User.builder()
+                    .name("requestor" + i)
+                    .email("requestor" + i + "@count.com")
+                    .build());
+            request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("request " + i)
+                    .requestor(i % 2 == 0 ? requestor : booker)
+                    .created(now.minusDays(i))
+                    .build());
+            item = itemRepository.save(Item.builder()
+                    .name("item " + i)
+                    .description("drill " + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            booking = bookingRepository.save(Booking.builder()
+                    .start(now.minusDays(2))
+                    .end(now.minusDays(1))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.APPROVED)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .start(now.plusDays(1))
+                    .end(now.plusDays(2))
+                    .item(item)
+                    .booker(requestor)
+                    .status(BookingStatus.WAITING)
+                    .build());
+            commentRepository.save(Comment.builder()
+                    .text("comment " + i)
+                    .item(item)
+                    .author(booker)
+                    .created(now)
+                    .build());
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void bookingEndpoints() throws Exception {
+        assertStatements(get("/bookings/{id}", booking.getId()).header(HEADER_USER_ID, booker.getId()), 1);
+        assertStatements(get("/bookings").header(HEADER_USER_ID, booker.getId()), 2);
+        assertStatements(get("/bookings/owner").header(HEADER_USER_ID, owner.getId()), 2);
+    }
+
+    @Test
+    void itemEndpoints() throws Exception {
+        assertStatements(get("/items").header(HEADER_USER_ID, owner.getId()), 5);
+        assertStatements(get("/items/{id}", item.getId()).header(HEADER_USER_ID, owner.getId()), 7);
+        assertStatements(get("/items/{id}/comments", item.getId()), 1);
+        assertStatements(get("/items/search").param("text", "drill").header(HEADER_USER_ID, booker.getId()), 1);
+    }
+
+    @Test
+    void requestEndpoints() throws Exception {
+        assertStatements(get("/requests").header(HEADER_USER_ID, booker.getId()), 2);
+        assertStatements(get("/requests/all").header(HEADER_USER_ID, booker.getId()), 3);
+        assertStatements(get("/requests/{id}", request.getId()).header(HEADER_USER_ID, booker.getId()), 5);
+    }
+
+    @Test
+    void conditionalItemGetSkipsEnrichment() throws Exception {
+        String eTag = mvc.perform(get("/items/{id}", item.getId()).header(HEADER_USER_ID, owner.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        statistics.clear();
+        mvc.perform(get("/items/{id}", item.getId())
+                        .header(HEADER_USER_ID, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(3L));
+    }
+
+    private void assertStatements(MockHttpServletRequestBuilder request, long expected) throws Exception {
+        statistics.clear();
+        mvc.perform(request).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(expected));
+    }
+}
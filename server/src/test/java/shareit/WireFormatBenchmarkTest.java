@@ -0,0 +1,92 @@
+package shareit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * CPU time of getting a listing from the server to the gateway's clients as JSON: written as JSON and relayed,
+ * or written as Smile and transcoded token by token the way the gateway's SmileServerExchange does. Timings
+ * depend on the machine, so they are reported rather than asserted. Excluded from the default build, run with
+ * {@code mvn -pl server test -Dtest=WireFormatBenchmarkTest -DexcludedGroups=}.
+ */
+@Tag("benchmark")
+class WireFormatBenchmarkTest {
+    private static final int ROWS = 1000;
+    private static final int WARMUP = 50;
+    private static final int ROUNDS = 200;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private WirePayloads payloads;
+
+    @BeforeEach
+    void setUp() {
+        payloads = new WirePayloads(ROWS);
+    }
+
+    @Test
+    void bookings(TestReporter reporter) throws Exception {
+        measure(reporter, payloads.bookings, BookingDto[].class);
+    }
+
+    @Test
+    void items(TestReporter reporter) throws Exception {
+        measure(reporter, payloads.items, ItemDto[].class);
+    }
+
+    @Test
+    void requests(TestReporter reporter) throws Exception {
+        measure(reporter, payloads.requests, ItemRequestDto[].class);
+    }
+
+    private <T> void measure(TestReporter reporter, List<T> payload, Class<T[]> type) throws Exception {
+        Callable<byte[]> json = () -> payloads.json.writeValueAsBytes(payload);
+        Callable<byte[]> smile = () -> transcode(payloads.smile.writeValueAsBytes(payload));
+        assertThat(List.of(payloads.json.readValue(smile.call(), type)), equalTo(payload));
+
+        reporter.publishEntry("json ms", String.format("%.2f", cpuNanos(json) / 1e6));
+        reporter.publishEntry("smile transcoded ms", String.format("%.2f", cpuNanos(smile) / 1e6));
+    }
+
+    private long cpuNanos(Callable<byte[]> path) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            path.call();
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            path.call();
+        }
+        return (threads.getCurrentThreadCpuTime() - start) / ROUNDS;
+    }
+
+    private byte[] transcode(byte[] smile) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = smileFactory.createParser(smile);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,48 @@
+package shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Checks that the listings the server sends to the gateway survive a Smile round trip and encode smaller than JSON.
+ */
+class WireFormatSizeTest {
+    private WirePayloads payloads;
+
+    @BeforeEach
+    void setUp() {
+        payloads = new WirePayloads(1000);
+    }
+
+    @Test
+    void bookingsAreSmallerInSmile() throws Exception {
+        compare(payloads.bookings, BookingDto[].class);
+    }
+
+    @Test
+    void itemsAreSmallerInSmile() throws Exception {
+        compare(payloads.items, ItemDto[].class);
+    }
+
+    @Test
+    void requestsAreSmallerInSmile() throws Exception {
+        compare(payloads.requests, ItemRequestDto[].class);
+    }
+
+    private <T> void compare(List<T> payload, Class<T[]> type) throws Exception {
+        byte[] jsonBytes = payloads.json.writeValueAsBytes(payload);
+        byte[] smileBytes = payloads.smile.writeValueAsBytes(payload);
+        assertThat(List.of(payloads.smile.readValue(smileBytes, type)), equalTo(payload));
+        assertThat(List.of(payloads.json.readValue(jsonBytes, type)), equalTo(payload));
+        assertThat(smileBytes.length, lessThan(jsonBytes.length));
+    }
+}
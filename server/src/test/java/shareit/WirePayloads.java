@@ -0,0 +1,71 @@
+package shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listings shaped like the ones the server sends to the gateway, and the mappers writing them as JSON and Smile.
+ */
+class WirePayloads {
+    final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    final ObjectMapper smile = Jackson2ObjectMapperBuilder.smile()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    final List<BookingDto> bookings = new ArrayList<>();
+    final List<ItemDto> items = new ArrayList<>();
+    final List<ItemRequestDto> requests = new ArrayList<>();
+
+    WirePayloads(int rows) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (long i = 1; i <= rows; i++) {
+            UserDto user = UserDto.builder().id(i).name("user " + i).email("user" + i + "@mail.com").build();
+            List<CommentDto> comments = List.of(CommentDto.builder()
+                    .id(i)
+                    .text("worked fine " + i)
+                    .authorName(user.getName())
+                    .created(now)
+                    .build());
+            ItemDto item = ItemDto.builder()
+                    .id(i)
+                    .name("drill " + i)
+                    .description("cordless drill with two batteries, item " + i)
+                    .available(true)
+                    .owner(user)
+                    .requestId(i)
+                    .comments(comments)
+                    .build();
+            items.add(item);
+            bookings.add(BookingDto.builder()
+                    .id(i)
+                    .start(now.plusDays(i))
+                    .end(now.plusDays(i + 1))
+                    .item(item)
+                    .itemId(i)
+                    .booker(user)
+                    .bookerId(i)
+                    .status(BookingStatus.APPROVED)
+                    .build());
+            requests.add(ItemRequestDto.builder()
+                    .id(i)
+                    .description("need a drill " + i)
+                    .user(User.builder().id(i).name(user.getName()).email(user.getEmail()).build())
+                    .created(now)
+                    .items(List.of(item))
+                    .build());
+        }
+    }
+}
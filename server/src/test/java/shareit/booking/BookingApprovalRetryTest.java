@@ -0,0 +1,150 @@
+package shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingSlotLock;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Bumps the booking's version from a concurrent transaction once the service has read the booking and takes
+ * the slot lock, so the approval loses its optimistic check at commit.
+ */
+@SpringBootTest(properties = "shareit.retry.delay=1", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ContextConfiguration(classes = {ShareItServer.class, BookingApprovalRetryTest.InterferingLockConfig.class})
+class BookingApprovalRetryTest {
+
+    @Autowired
+    private InterferingSlotLock slotLock;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private User owner;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = userRepository.save(User.builder().name("owner").email("owner@retry.com").build());
+        User booker = userRepository.save(User.builder().name("booker").email("booker@retry.com").build());
+        Item item = itemRepository.save(Item.builder().name("drill").description("drill").available(true)
+                .owner(owner).build());
+        booking = bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build());
+    }
+
+    @Test
+    void approvalIsRetriedAfterConcurrentUpdate() {
+        slotLock.interfere(booking.getId(), 1);
+
+        Booking approved = bookingService.approveOrReject(booking.getId(), true, owner.getId());
+
+        assertEquals(BookingStatus.APPROVED, approved.getStatus());
+        assertEquals(2, slotLock.attempts());
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void conflictSurfacesOnceRetriesAreUsedUp() {
+        slotLock.interfere(booking.getId(), Integer.MAX_VALUE);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> bookingService.approveOrReject(booking.getId(), true, owner.getId()));
+        assertEquals(3, slotLock.attempts());
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+    }
+
+    @TestConfiguration
+    static class InterferingLockConfig {
+
+        @Bean
+        @Primary
+        InterferingSlotLock interferingSlotLock(JdbcTemplate jdbcTemplate,
+                                                PlatformTransactionManager transactionManager) {
+            return new InterferingSlotLock(jdbcTemplate, transactionManager);
+        }
+    }
+
+    /**
+     * Takes no lock; while interferences remain, commits a version bump of the booking in its own transaction.
+     */
+    static class InterferingSlotLock implements BookingSlotLock {
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate concurrent;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final AtomicInteger remaining = new AtomicInteger();
+        private volatile Long bookingId;
+
+        InterferingSlotLock(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.concurrent = new TransactionTemplate(transactionManager);
+            this.concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+
+        void interfere(Long bookingId, int times) {
+            this.bookingId = bookingId;
+            attempts.set(0);
+            remaining.set(times);
+        }
+
+        int attempts() {
+            return attempts.get();
+        }
+
+        @Override
+        public void lock(Collection<Long> itemIds) {
+            attempts.incrementAndGet();
+            if (remaining.getAndDecrement() > 0) {
+                concurrent.executeWithoutResult(status -> jdbcTemplate.update(
+                        "UPDATE bookings SET version = version + 1 WHERE id = ?", bookingId));
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.InMemoryAvailabilityCalendar;
+import ru.practicum.shareit.booking.calendar.Interval;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecision;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ContextConfiguration(classes = ShareItServer.class)
+class BookingBatchIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private InMemoryAvailabilityCalendar availabilityCalendar;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Item unavailable;
+    private LocalDateTime start;
+    private Booking approved;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = userRepository.save(User.builder().name("owner").email("owner@batch.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@batch.com").build());
+        item = itemRepository.save(Item.builder().name("drill").description("drill").available(true)
+                .owner(owner).build());
+        unavailable = itemRepository.save(Item.builder().name("saw").description("saw").available(false)
+                .owner(owner).build());
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+        approved = bookingRepository.save(Booking.builder()
+                .start(start.plusDays(10))
+                .end(start.plusDays(12))
+                .item(item)
+                .booker(owner)
+                .status(BookingStatus.APPROVED)
+                .build());
+        availabilityCalendar.rebuild();
+    }
+
+    @Test
+    void createsValidBookingsAndReportsTheRest() {
+        List<BookingDto> batch = List.of(
+                booking(item.getId(), start, start.plusDays(1)),
+                booking(item.getId(), start.plusDays(2), start.plusDays(3)),
+                booking(item.getId(), start.plusHours(12), start.plusDays(2)),
+                booking(item.getId(), start.plusDays(11), start.plusDays(13)),
+                booking(unavailable.getId(), start, start.plusDays(1)),
+                booking(-1L, start, start.plusDays(1)),
+                booking(item.getId(), start.plusDays(1), start),
+                booking(null, start, start.plusDays(1)));
+
+        List<BookingBatchResult> results = bookingService.createBatch(batch, booker.getId());
+
+        List<Integer> statuses = new ArrayList<>();
+        results.forEach(result -> statuses.add(result.getStatus()));
+        assertThat(statuses, contains(201, 201, 409, 404, 400, 404, 400, 400));
+        assertThat(results.get(0).getBooking().getId(), is(notNullValue()));
+        assertThat(results.get(0).getBooking().getStatus(), is(BookingStatus.WAITING));
+
+        List<Booking> created = bookingRepository.findByBookerIdAndEndIsBefore(booker.getId(),
+                start.plusYears(1), Sort.by("start"));
+        assertThat(created, hasSize(2));
+        assertThat(created.get(0).getId(), is(results.get(0).getBooking().getId()));
+        assertThat(created.get(1).getStart(), is(start.plusDays(2)));
+    }
+
+    @Test
+    void decidesWaitingBookingsAndReportsTheRest() {
+        Booking first = waiting(start, start.plusDays(1));
+        Booking overlapsFirst = waiting(start.plusHours(12), start.plusDays(2));
+        Booking overlapsApproved = waiting(start.plusDays(11), start.plusDays(13));
+        Booking rejected = waiting(start.plusDays(3), start.plusDays(4));
+        List<BookingDecision> decisions = Arrays.asList(
+                decision(first.getId(), true),
+                decision(overlapsFirst.getId(), true),
+                decision(overlapsApproved.getId(), true),
+                decision(rejected.getId(), false),
+                decision(approved.getId(), false),
+                decision(-1L, true),
+                decision(rejected.getId(), true),
+                null);
+
+        List<BookingBatchResult> results = bookingService.decideBatch(decisions, owner.getId());
+
+        List<Integer> statuses = new ArrayList<>();
+        results.forEach(result -> statuses.add(result.getStatus()));
+        assertThat(statuses, contains(200, 409, 409, 200, 400, 404, 400, 400));
+        assertThat(results.get(0).getBooking().getStatus(), is(BookingStatus.APPROVED));
+        assertThat(results.get(3).getBooking().getStatus(), is(BookingStatus.REJECTED));
+
+        Booking approvedFirst = bookingRepository.findById(first.getId()).orElseThrow();
+        assertThat(approvedFirst.getStatus(), is(BookingStatus.APPROVED));
+        assertThat(approvedFirst.getVersion(), is(first.getVersion() + 1));
+        assertThat(bookingRepository.findById(rejected.getId()).orElseThrow().getStatus(),
+                is(BookingStatus.REJECTED));
+        assertThat(bookingRepository.findById(overlapsFirst.getId()).orElseThrow().getStatus(),
+                is(BookingStatus.WAITING));
+        assertThat(availabilityCalendar.booked(item.getId(), start, start.plusDays(5)),
+                contains(new Interval(start, start.plusDays(1))));
+    }
+
+    @Test
+    void doesNotDecideBookingsOfOtherOwners() {
+        Booking booking = waiting(start, start.plusDays(1));
+
+        List<BookingBatchResult> results = bookingService.decideBatch(List.of(decision(booking.getId(), true)),
+                booker.getId());
+
+        assertThat(results.get(0).getStatus(), is(404));
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus(),
+                is(BookingStatus.WAITING));
+    }
+
+    private Booking waiting(LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build());
+    }
+
+    private static BookingDecision decision(Long bookingId, Boolean approved) {
+        return BookingDecision.builder()
+                .bookingId(bookingId)
+                .approved(approved)
+                .build();
+    }
+
+    private static BookingDto booking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return BookingDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
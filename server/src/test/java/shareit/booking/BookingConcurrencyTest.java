@@ -0,0 +1,202 @@
+package shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Races many approvals and creations of overlapping bookings for one item and checks that no two approved
+ * bookings of the item ever overlap.
+ */
+@SpringBootTest(properties = "shareit.booking.lock=database", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ContextConfiguration(classes = ShareItServer.class)
+class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int CONTENDERS = 32;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private ExecutorService executor;
+    private User owner;
+    private List<User> bookers;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+
+        executor = Executors.newFixedThreadPool(THREADS);
+        owner = userRepository.save(User.builder().name("owner").email("owner@race.com").build());
+        bookers = new ArrayList<>();
+        for (int i = 0; i < CONTENDERS; i++) {
+            bookers.add(userRepository.save(User.builder().name("booker" + i).email("booker" + i + "@race.com")
+                    .build()));
+        }
+        item = itemRepository.save(Item.builder().name("drill").description("drill").available(true)
+                .owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void overlappingApprovalsApproveOneBooking() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1 + round * 10L);
+            List<Long> waiting = new ArrayList<>();
+            for (int i = 0; i < CONTENDERS; i++) {
+                waiting.add(bookingRepository.save(Booking.builder()
+                        .start(start.plusHours(i))
+                        .end(start.plusDays(2).plusHours(i))
+                        .item(item)
+                        .booker(bookers.get(i))
+                        .status(BookingStatus.WAITING)
+                        .build()).getId());
+            }
+
+            race(waiting.stream()
+                    .map(id -> (Callable<Object>) () -> bookingService.approveOrReject(id, true, owner.getId()))
+                    .collect(Collectors.toList()));
+
+            List<Booking> approved = approved().stream()
+                    .filter(booking -> waiting.contains(booking.getId()))
+                    .collect(Collectors.toList());
+            assertThat(approved, hasSize(1));
+        }
+        assertNoOverlaps();
+    }
+
+    @Test
+    void concurrentCreatesAndApprovalsNeverDoubleBook() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Callable<Object>> calls = new ArrayList<>();
+        for (int i = 0; i < CONTENDERS * ROUNDS; i++) {
+            User booker = bookers.get(i % CONTENDERS);
+            BookingDto dto = BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusHours(i % 48))
+                    .end(start.plusHours(i % 48 + 6))
+                    .build();
+            calls.add(() -> {
+                Booking created = bookingService.create(dto, booker.getId());
+                return bookingService.approveOrReject(created.getId(), true, owner.getId());
+            });
+        }
+
+        race(calls);
+
+        assertThat(approved().isEmpty(), is(false));
+        assertNoOverlaps();
+    }
+
+    @Test
+    void disjointApprovalsAllSucceed() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> waiting = new ArrayList<>();
+        for (int i = 0; i < CONTENDERS; i++) {
+            waiting.add(bookingRepository.save(Booking.builder()
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(12))
+                    .item(item)
+                    .booker(bookers.get(i))
+                    .status(BookingStatus.WAITING)
+                    .build()).getId());
+        }
+
+        int failures = race(waiting.stream()
+                .map(id -> (Callable<Object>) () -> bookingService.approveOrReject(id, true, owner.getId()))
+                .collect(Collectors.toList()));
+
+        assertThat(failures, is(0));
+        assertThat(approved(), hasSize(CONTENDERS));
+    }
+
+    private int race(List<Callable<Object>> calls) throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (Callable<Object> call : calls) {
+            futures.add(executor.submit(() -> {
+                gate.await();
+                return call.call();
+            }));
+        }
+        gate.countDown();
+        int failures = 0;
+        for (Future<Object> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private List<Booking> approved() {
+        return bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .collect(Collectors.toList());
+    }
+
+    private void assertNoOverlaps() {
+        List<Booking> approved = approved();
+        for (int i = 0; i < approved.size(); i++) {
+            for (int j = i + 1; j < approved.size(); j++) {
+                Booking left = approved.get(i);
+                Booking right = approved.get(j);
+                boolean overlap = left.getStart().isBefore(right.getEnd()) && right.getStart().isBefore(left.getEnd());
+                assertThat("Bookings " + left.getId() + " and " + right.getId() + " overlap", overlap, is(false));
+            }
+        }
+    }
+}
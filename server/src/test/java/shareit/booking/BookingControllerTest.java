@@ -14,7 +14,10 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.ShareItServer;
 import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingDecision;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.utility.UnsupportedStateException;
@@ -25,7 +28,11 @@ import java.util.List;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.utility.Constants.HEADER_NEXT_CURSOR;
+import static ru.practicum.shareit.utility.Constants.HEADER_TOTAL_COUNT;
 import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -88,6 +95,47 @@ class BookingControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    void createBatch() throws Exception {
+        when(bookingService.createBatch(List.of(bookingDto), 1L))
+                .thenReturn(List.of(BookingBatchResult.builder().index(0).status(201).booking(bookingDto).build()));
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(bookingDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201));
+    }
+
+    @Test
+    void createEmptyBatch() throws Exception {
+        mvc.perform(post("/bookings/batch")
+                        .content("[]")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void decideBatch() throws Exception {
+        BookingDecision decision = BookingDecision.builder().bookingId(1L).approved(true).build();
+        when(bookingService.decideBatch(List.of(decision), 2L))
+                .thenReturn(List.of(BookingBatchResult.builder().index(0).status(200).booking(bookingDto).build()));
+
+        mvc.perform(patch("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(decision)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 2L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200));
+    }
+
     @Test
     void approveOrReject() throws Exception {
         when(bookingService.approveOrReject(1L, true, 2L))
@@ -112,8 +160,8 @@ class BookingControllerTest {
 
     @Test
     void getUserBookings() throws Exception {
-        when(bookingService.getUserBookings("ALL", 1L, 0, 1000))
-                .thenReturn(List.of(booking));
+        when(bookingService.getUserBookings("ALL", 1L, 0, 1000, null))
+                .thenReturn(List.of(bookingDto));
 
         mvc.perform(get("/bookings/")
                         .header(HEADER_USER_ID, 1L)
@@ -137,7 +185,7 @@ class BookingControllerTest {
 
     @Test
     void getUserBookingsUnsupportedState() throws Exception {
-        when(bookingService.getUserBookings("SOMES", 1L, 0, 10))
+        when(bookingService.getUserBookings("SOMES", 1L, 0, 10, null))
                 .thenThrow(new UnsupportedStateException("Invalid state"));
 
         mvc.perform(get("/bookings/")
@@ -151,8 +199,9 @@ class BookingControllerTest {
 
     @Test
     void getOwnerBookings() throws Exception {
-        when(bookingService.getOwnerBookings("ALL", 1L, PageRequest.of(0, 1000, Sort.by("start").descending())))
-                .thenReturn(List.of(booking));
+        when(bookingService.getOwnerBookings("ALL", 1L,
+                PageRequest.of(0, 1000, Sort.by(Sort.Direction.DESC, "start", "id")), null))
+                .thenReturn(List.of(bookingDto));
 
         mvc.perform(get("/bookings/owner")
                         .header(HEADER_USER_ID, 1L)
@@ -162,4 +211,35 @@ class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void getUserBookingsFullPageReturnsNextCursor() throws Exception {
+        bookingDto.setId(3L);
+        when(bookingService.getUserBookings("ALL", 1L, 0, 1, null))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings")
+                        .header(HEADER_USER_ID, 1L)
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HEADER_NEXT_CURSOR, new BookingCursor(start, 3L).encode()));
+    }
+
+    @Test
+    void getOwnerBookingsWithTotal() throws Exception {
+        when(bookingService.getOwnerBookings("ALL", 1L,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id")), null))
+                .thenReturn(List.of(bookingDto));
+        when(bookingService.countOwnerBookings("ALL", 1L))
+                .thenReturn(42L);
+
+        mvc.perform(get("/bookings/owner")
+                        .header(HEADER_USER_ID, 1L)
+                        .param("size", "10")
+                        .param("includeTotal", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HEADER_TOTAL_COUNT, "42"));
+    }
 }
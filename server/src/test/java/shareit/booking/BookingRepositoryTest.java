@@ -0,0 +1,236 @@
+package shareit.booking;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingRequestState;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@DataJpaTest
+@ContextConfiguration(classes = ShareItServer.class)
+class BookingRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Item item;
+
+    private User booker;
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .name("owner")
+                .email("owner@email.com")
+                .build());
+
+        booker = userRepository.save(User.builder()
+                .name("booker")
+                .email("booker@email.com")
+                .build());
+
+        item = itemRepository.save(Item.builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+        end = start.plusDays(2);
+
+        bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+    }
+
+    @Test
+    void overlappingApprovedBookingExists() {
+        Assertions.assertTrue(bookingRepository.existsByItemIdAndStatusAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.APPROVED, end.plusDays(1), start.plusDays(1)));
+    }
+
+    @Test
+    void adjacentBookingDoesNotOverlap() {
+        Assertions.assertFalse(bookingRepository.existsByItemIdAndStatusAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.APPROVED, end.plusDays(1), end));
+    }
+
+    @Test
+    void waitingBookingsAreIgnored() {
+        LocalDateTime waitingStart = end.plusDays(5);
+        bookingRepository.save(Booking.builder()
+                .start(waitingStart)
+                .end(waitingStart.plusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        Assertions.assertFalse(bookingRepository.existsByItemIdAndStatusAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.APPROVED, waitingStart.plusDays(1), waitingStart.minusDays(1)));
+    }
+
+    @Test
+    void findLastAndNextBookingsForSeveralItems() {
+        Booking past = bookingRepository.save(Booking.builder()
+                .start(start.minusDays(10))
+                .end(start.minusDays(9))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .start(start.minusDays(20))
+                .end(start.minusDays(19))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+
+        List<Booking> last = bookingRepository.findLastBookings(List.of(item.getId(), -1L),
+                LocalDateTime.now(), BookingStatus.APPROVED);
+        List<Booking> next = bookingRepository.findNextBookings(List.of(item.getId(), -1L),
+                LocalDateTime.now(), BookingStatus.APPROVED);
+
+        Assertions.assertEquals(1, last.size());
+        Assertions.assertEquals(past.getId(), last.get(0).getId());
+        Assertions.assertEquals(1, next.size());
+        Assertions.assertEquals(start, next.get(0).getStart());
+    }
+
+    @Test
+    void bookerListingSelectsViewColumns() {
+        List<BookingView> bookings = bookingRepository.findViews(BookingRole.BOOKER, BookingRequestState.ALL,
+                booker.getId(), LocalDateTime.now(), null,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id")));
+
+        Assertions.assertEquals(1, bookings.size());
+        Assertions.assertEquals(item.getId(), bookings.get(0).getItemId());
+        Assertions.assertEquals("name", bookings.get(0).getItemName());
+        Assertions.assertEquals(booker.getId(), bookings.get(0).getBookerId());
+        Assertions.assertEquals("booker", bookings.get(0).getBookerName());
+    }
+
+    @Test
+    void listingFiltersByRoleAndState() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking past = bookingRepository.save(Booking.builder()
+                .start(now.minusDays(3))
+                .end(now.minusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.REJECTED)
+                .build());
+        Long ownerId = item.getOwner().getId();
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        Assertions.assertEquals(2, bookingRepository.findViews(BookingRole.OWNER, BookingRequestState.ALL,
+                ownerId, now, null, page).size());
+        Assertions.assertEquals(past.getId(), bookingRepository.findViews(BookingRole.OWNER,
+                BookingRequestState.PAST, ownerId, now, null, page).get(0).getId());
+        Assertions.assertEquals(1, bookingRepository.findViews(BookingRole.BOOKER, BookingRequestState.FUTURE,
+                booker.getId(), now, null, page).size());
+        Assertions.assertEquals(1, bookingRepository.findViews(BookingRole.BOOKER, BookingRequestState.REJECTED,
+                booker.getId(), now, null, page).size());
+        Assertions.assertTrue(bookingRepository.findViews(BookingRole.BOOKER, BookingRequestState.CURRENT,
+                booker.getId(), now, null, page).isEmpty());
+        Assertions.assertTrue(bookingRepository.findViews(BookingRole.OWNER, BookingRequestState.ALL,
+                booker.getId(), now, null, page).isEmpty());
+        Assertions.assertEquals(2, bookingRepository.countViews(BookingRole.OWNER, BookingRequestState.ALL,
+                ownerId, now));
+        Assertions.assertEquals(1, bookingRepository.countViews(BookingRole.BOOKER, BookingRequestState.REJECTED,
+                booker.getId(), now));
+    }
+
+    @Test
+    void listingSeeksPastCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking sameStart = bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build());
+        PageRequest page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        List<BookingView> first = bookingRepository.findViews(BookingRole.BOOKER, BookingRequestState.ALL,
+                booker.getId(), now, null, page);
+        BookingView last = first.get(0);
+        List<BookingView> second = bookingRepository.findViews(BookingRole.BOOKER, BookingRequestState.ALL,
+                booker.getId(), now, new BookingCursor(last.getStart(), last.getId()), page);
+        List<BookingView> third = bookingRepository.findViews(BookingRole.BOOKER, BookingRequestState.ALL,
+                booker.getId(), now, new BookingCursor(second.get(0).getStart(), second.get(0).getId()), page);
+
+        Assertions.assertEquals(sameStart.getId(), last.getId());
+        Assertions.assertEquals(1, second.size());
+        Assertions.assertNotEquals(sameStart.getId(), second.get(0).getId());
+        Assertions.assertTrue(third.isEmpty());
+    }
+
+    @Test
+    void cursorFromOffsetPageContinuesAcrossEqualStarts() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            bookingRepository.save(Booking.builder()
+                    .start(start)
+                    .end(end)
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        Sort order = Sort.by(Sort.Direction.DESC, "start", "id");
+
+        List<BookingView> all = bookingRepository.findViews(BookingRole.BOOKER, BookingRequestState.ALL,
+                booker.getId(), now, null, PageRequest.of(0, 10, order));
+        List<BookingView> first = bookingRepository.findViews(BookingRole.BOOKER, BookingRequestState.ALL,
+                booker.getId(), now, null, PageRequest.of(0, 2, order));
+        BookingView last = first.get(first.size() - 1);
+        List<BookingView> second = bookingRepository.findViews(BookingRole.BOOKER, BookingRequestState.ALL,
+                booker.getId(), now, new BookingCursor(last.getStart(), last.getId()), PageRequest.of(0, 2, order));
+
+        Assertions.assertEquals(4, all.size());
+        Assertions.assertEquals(ids(all.subList(0, 2)), ids(first));
+        Assertions.assertEquals(ids(all.subList(2, 4)), ids(second));
+    }
+
+    private static List<Long> ids(List<BookingView> bookings) {
+        return bookings.stream().map(BookingView::getId).collect(Collectors.toList());
+    }
+}
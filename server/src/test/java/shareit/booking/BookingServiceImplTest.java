@@ -9,18 +9,20 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.*;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.utility.BadRequestException;
+import ru.practicum.shareit.utility.InvalidInputException;
 import ru.practicum.shareit.utility.NoSuchIdException;
 import ru.practicum.shareit.utility.UnsupportedStateException;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,6 +45,12 @@ class BookingServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private BookingSlotLock bookingSlotLock;
+
+    @Mock
+    private AvailabilityCalendar availabilityCalendar;
+
     private Booking pastBooking, futureBooking, currentBooking;
 
     private BookingDto bookingDto;
@@ -96,6 +104,18 @@ class BookingServiceImplTest {
         currentBooking = createCurrentBooking();
     }
 
+    private BookingView view(Booking booking) {
+        return new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booking.getItem() == null ? null : booking.getItem().getId(),
+                booking.getItem() == null ? null : booking.getItem().getName(),
+                booking.getBooker() == null ? null : booking.getBooker().getId(),
+                booking.getBooker() == null ? null : booking.getBooker().getName());
+    }
+
+    private BookingDto dto(Booking booking) {
+        return BookingMapper.toBookingDto(view(booking));
+    }
+
     private Booking createPastBooking() {
         LocalDateTime start = LocalDateTime.now().minusDays(2);
         LocalDateTime end = LocalDateTime.now().minusDays(1);
@@ -182,6 +202,22 @@ class BookingServiceImplTest {
 
         assertEquals(BookingStatus.APPROVED, result.getStatus());
         verify(bookingRepository, times(1)).findById(bookingId);
+        verify(availabilityCalendar).approved(item.getId(), booking.getStart(), booking.getEnd());
+    }
+
+    @Test
+    void approveConflictingBookingThrowsException() {
+        User owner = User.builder().id(2L).build();
+        item.setOwner(owner);
+        booking.setItem(item);
+
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByItemIdAndStatusAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.APPROVED, booking.getEnd(), booking.getStart())).thenReturn(true);
+
+        assertThrows(InvalidInputException.class, () -> bookingService.approveOrReject(1L, true, owner.getId()));
+        verify(bookingSlotLock).lock(List.of(item.getId()));
+        assertEquals(BookingStatus.WAITING, booking.getStatus());
     }
 
     @Test
@@ -229,82 +265,6 @@ class BookingServiceImplTest {
                 "does not match the expected value");
     }
 
-    @Test
-    void getUserBookings() {
-        Integer from = 0;
-        Integer size = 2;
-
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
-        Booking booking1 = new Booking();
-        booking1.setBooker(user);
-        booking1.setStatus(BookingStatus.APPROVED);
-
-        Booking booking2 = new Booking();
-        booking2.setBooker(user);
-        booking2.setStatus(BookingStatus.REJECTED);
-
-        List<Booking> bookingList = new ArrayList<>();
-        bookingList.add(booking1);
-        bookingList.add(booking2);
-        Page<Booking> bookings = new PageImpl<>(bookingList);
-
-        when(bookingRepository.findByBooker(user, CustomPageRequest.of(from, size, Sort.by("start")
-                .descending()))).thenReturn(bookings);
-
-        List<Booking> allBookings = bookingService.getUserBookings("ALL", user.getId(), from, size);
-        assertEquals(bookings.getContent(), allBookings);
-        verify(bookingRepository, times(1))
-                .findByBooker(user, CustomPageRequest.of(from, size, Sort.by("start").descending()));
-
-        reset(bookingRepository);
-
-        when(bookingRepository.findByBookerAndStatus(user, BookingStatus.WAITING, CustomPageRequest
-                .of(from, size, Sort.by("start").descending()))).thenReturn(bookings);
-
-        List<Booking> waitingBookings = bookingService.getUserBookings("WAITING", user.getId(), from, size);
-        assertEquals(bookings.getContent(), waitingBookings);
-        verify(bookingRepository, times(1))
-                .findByBookerAndStatus(user, BookingStatus.WAITING, CustomPageRequest
-                        .of(from, size, Sort.by("start").descending()));
-    }
-
-    @Test
-    void getOwnerBookings() {
-
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
-        Booking booking1 = new Booking();
-        booking1.setItem(item);
-        booking1.setStatus(BookingStatus.APPROVED);
-
-        Booking booking2 = new Booking();
-        booking2.setItem(item);
-        booking2.setStatus(BookingStatus.REJECTED);
-
-        List<Booking> bookingList = new ArrayList<>();
-        bookingList.add(booking1);
-        bookingList.add(booking2);
-        Page<Booking> bookings = new PageImpl<>(bookingList);
-
-        when(bookingRepository.findByItemOwner(user, Pageable.unpaged())).thenReturn(bookings);
-
-        List<Booking> allBookings = bookingService.getOwnerBookings("ALL", user.getId(), Pageable.unpaged());
-        assertEquals(bookings.getContent(), allBookings);
-        verify(bookingRepository, times(1)).findByItemOwner(user, Pageable.unpaged());
-
-        reset(bookingRepository);
-
-        when(bookingRepository.findByItemOwnerAndStatus(user, BookingStatus.WAITING, Pageable.unpaged()))
-                .thenReturn(bookings);
-
-        List<Booking> waitingBookings = bookingService.getOwnerBookings("WAITING", user.getId(),
-                Pageable.unpaged());
-        assertEquals(bookings.getContent(), waitingBookings);
-        verify(bookingRepository, times(1)).findByItemOwnerAndStatus(user,
-                BookingStatus.WAITING, Pageable.unpaged());
-    }
-
     @Test
     void createItemDoesNotExistThrowsException() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
@@ -377,19 +337,8 @@ class BookingServiceImplTest {
 
     @Test
     void createBookingConflictThrowsException() {
-        List<Booking> bookings = new ArrayList<>();
-
-        Booking existingBooking = Booking.builder()
-                .id(2L)
-                .start(LocalDateTime.now().plusDays(1L))
-                .end(LocalDateTime.now().plusDays(2L))
-                .item(item)
-                .booker(User.builder().id(3L).build())
-                .status(BookingStatus.APPROVED)
-                .build();
-
-        bookings.add(existingBooking);
-        when(bookingRepository.findByItem(item)).thenReturn(bookings);
+        when(bookingRepository.existsByItemIdAndStatusAndStartIsBeforeAndEndIsAfter(item.getId(),
+                BookingStatus.APPROVED, bookingDto.getEnd(), bookingDto.getStart())).thenReturn(true);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(itemRepository.findById(bookingDto.getItemId())).thenReturn(Optional.of(item));
@@ -397,186 +346,136 @@ class BookingServiceImplTest {
         assertThrows(NoSuchIdException.class, () -> {
             bookingService.create(bookingDto, userId);
         });
+        verify(bookingRepository, times(0)).save(any());
     }
 
     @Test
-    void getUserBookingsWithNonExistentUserIdThrowsException() {
-        Long nonExistentUserId = 123L; // Non-existent user ID
-        String stateString = "ALL";
+    void getUserBookings() {
         Integer from = 0;
-        Integer size = 5;
-
-        when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty());
-
-        assertThrows(NoSuchIdException.class, () -> {
-            bookingService.getUserBookings(stateString, nonExistentUserId, from, size);
-        });
-    }
+        Integer size = 2;
+        Pageable pageable = CustomPageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "start", "id"));
 
-    @Test
-    void getUserBookingsWithInvalidStateThrowsException() {
-        String invalidStateString = "INVALID_STATE";
-        Integer from = 0;
-        Integer size = 5;
+        when(bookingRepository.findViews(eq(BookingRole.BOOKER), eq(BookingRequestState.ALL), eq(userId),
+                any(LocalDateTime.class), isNull(), eq(pageable))).thenReturn(List.of(view(booking), view(pastBooking)));
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        List<BookingDto> allBookings = bookingService.getUserBookings("ALL", userId, from, size, null);
 
-        assertThrows(UnsupportedStateException.class, () -> {
-            bookingService.getUserBookings(invalidStateString, userId, from, size);
-        });
+        assertEquals(List.of(dto(booking), dto(pastBooking)), allBookings);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    void getOwnerBookingsWithNonExistentUserIdThrowsException() {
-        Long nonExistentUserId = 123L; // Non-existent user ID
-        String stateString = "ALL";
-        Pageable pageable = PageRequest.of(0, 5);
-
-        when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty());
-
-        assertThrows(NoSuchIdException.class, () -> {
-            bookingService.getOwnerBookings(stateString, nonExistentUserId, pageable);
-        });
-    }
+    void getOwnerBookings() {
+        Pageable pageable = Pageable.unpaged();
 
-    @Test
-    void getOwnerBookingsWithInvalidStateThrowsException() {
-        String invalidStateString = "INVALID_STATE";
-        Pageable pageable = PageRequest.of(0, 5);
+        when(bookingRepository.findViews(eq(BookingRole.OWNER), eq(BookingRequestState.WAITING), eq(userId),
+                any(LocalDateTime.class), isNull(), eq(pageable))).thenReturn(List.of(view(booking)));
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        List<BookingDto> waitingBookings = bookingService.getOwnerBookings("WAITING", userId, pageable, null);
 
-        assertThrows(UnsupportedStateException.class, () -> {
-            bookingService.getOwnerBookings(invalidStateString, userId, pageable);
-        });
+        assertEquals(List.of(dto(booking)), waitingBookings);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void getUserBookingsPastBookingsReturnsPastBookings() {
-        Booking pastBooking = createPastBooking();
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerAndEndIsBefore(eq(user), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(pastBooking)));
+        when(bookingRepository.findViews(eq(BookingRole.BOOKER), eq(BookingRequestState.PAST), eq(userId),
+                any(LocalDateTime.class), isNull(), any(Pageable.class))).thenReturn(List.of(view(pastBooking)));
 
-        List<Booking> bookings = bookingService.getUserBookings(BookingRequestState.PAST.name(),
-                user.getId(), 0, 10);
+        List<BookingDto> bookings = bookingService.getUserBookings(BookingRequestState.PAST.name(), userId, 0, 10, null);
 
-        assertTrue(bookings.contains(pastBooking));
+        assertTrue(bookings.contains(dto(pastBooking)));
     }
 
     @Test
-    void getUserBookingsFutureBookingsReturnsFutureBookings() {
-        Booking futureBooking = createFutureBooking();
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerAndStartIsAfter(eq(user), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(futureBooking)));
+    void getOwnerBookingsCurrentReturnsCurrentBookings() {
+        Pageable pageable = Pageable.unpaged();
+        when(bookingRepository.findViews(eq(BookingRole.OWNER), eq(BookingRequestState.CURRENT), eq(userId),
+                any(LocalDateTime.class), isNull(), eq(pageable))).thenReturn(List.of(view(currentBooking)));
 
-        List<Booking> bookings = bookingService.getUserBookings(BookingRequestState.FUTURE.name(),
-                user.getId(), 0, 10);
+        List<BookingDto> result = bookingService.getOwnerBookings("CURRENT", userId, pageable, null);
 
-        assertTrue(bookings.contains(futureBooking));
+        assertEquals(1, result.size());
+        assertTrue(result.contains(dto(currentBooking)));
     }
 
     @Test
-    void getUserBookingsCurrentBookingsReturnsCurrentBookings() {
-        Booking currentBooking = createCurrentBooking();
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerAndStartIsBeforeAndEndIsAfter(eq(user),
-                any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(currentBooking)));
+    void getUserBookingsEmptyResultForExistingUser() {
+        when(bookingRepository.findViews(eq(BookingRole.BOOKER), eq(BookingRequestState.FUTURE), eq(userId),
+                any(LocalDateTime.class), isNull(), any(Pageable.class))).thenReturn(List.of());
+        when(userRepository.existsById(userId)).thenReturn(true);
 
-        List<Booking> bookings = bookingService.getUserBookings(BookingRequestState
-                .CURRENT.name(), user.getId(), 0, 10);
+        List<BookingDto> bookings = bookingService.getUserBookings("FUTURE", userId, 0, 10, null);
 
-        assertTrue(bookings.contains(currentBooking));
+        assertTrue(bookings.isEmpty());
     }
 
     @Test
-    void getOwnerBookingsAllReturnsBookings() {
-        Pageable pageable = Pageable.unpaged();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItemOwner(user, pageable)).thenReturn(new PageImpl<>(List.of(booking, pastBooking,
-                futureBooking, currentBooking)));
-
-        List<Booking> result = bookingService.getOwnerBookings("ALL", userId, pageable);
+    void getUserBookingsWithNonExistentUserIdThrowsException() {
+        Long nonExistentUserId = 123L;
+        when(bookingRepository.findViews(eq(BookingRole.BOOKER), eq(BookingRequestState.ALL), eq(nonExistentUserId),
+                any(LocalDateTime.class), isNull(), any(Pageable.class))).thenReturn(List.of());
+        when(userRepository.existsById(nonExistentUserId)).thenReturn(false);
 
-        assertEquals(4, result.size());
+        assertThrows(NoSuchIdException.class, () -> bookingService.getUserBookings("ALL", nonExistentUserId, 0, 5, null));
     }
 
     @Test
-    void getOwnerBookingsPastReturnsPastBookings() {
-        Pageable pageable = Pageable.unpaged();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItemOwnerAndEndIsBefore(eq(user), any(LocalDateTime.class), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(pastBooking)));
-
-        List<Booking> result = bookingService.getOwnerBookings("PAST", userId, pageable);
+    void getOwnerBookingsWithNonExistentUserIdThrowsException() {
+        Long nonExistentUserId = 123L;
+        Pageable pageable = PageRequest.of(0, 5);
+        when(bookingRepository.findViews(eq(BookingRole.OWNER), eq(BookingRequestState.ALL), eq(nonExistentUserId),
+                any(LocalDateTime.class), isNull(), eq(pageable))).thenReturn(List.of());
+        when(userRepository.existsById(nonExistentUserId)).thenReturn(false);
 
-        assertEquals(1, result.size());
-        assertTrue(result.contains(pastBooking));
+        assertThrows(NoSuchIdException.class, () -> bookingService
+                .getOwnerBookings("ALL", nonExistentUserId, pageable, null));
     }
 
     @Test
-    void getOwnerBookingsCurrentReturnsCurrentBookings() {
-        Pageable pageable = Pageable.unpaged();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItemOwnerAndStartIsBeforeAndEndIsAfter(eq(user), any(LocalDateTime.class),
-                any(LocalDateTime.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(currentBooking)));
-
-        List<Booking> result = bookingService.getOwnerBookings("CURRENT", userId, pageable);
-
-        assertEquals(1, result.size());
+    void getUserBookingsWithInvalidStateThrowsException() {
+        assertThrows(UnsupportedStateException.class, () -> bookingService
+                .getUserBookings("INVALID_STATE", userId, 0, 5, null));
+        verifyNoInteractions(bookingRepository, userRepository);
     }
 
     @Test
-    void getOwnerBookingsWaitingReturnsWaitingBookings() {
-        Pageable pageable = Pageable.unpaged();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItemOwnerAndStatus(user, BookingStatus.WAITING, pageable))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-
-        List<Booking> result = bookingService.getOwnerBookings("WAITING", userId, pageable);
+    void getOwnerBookingsInvalidStateThrowsException() {
+        assertThrows(UnsupportedStateException.class, () -> bookingService
+                .getOwnerBookings("INVALID", userId, Pageable.unpaged(), null));
+    }
 
-        assertEquals(1, result.size());
-        assertTrue(result.contains(booking));
+    @Test
+    void getOwnerBookingsNullStateThrowsException() {
+        assertThrows(UnsupportedStateException.class, () -> bookingService
+                .getOwnerBookings(null, userId, Pageable.unpaged(), null));
     }
 
     @Test
-    void getOwnerBookingsRejectedReturnsRejectedBookings() {
-        Pageable pageable = Pageable.unpaged();
-        Booking rejectedBooking = Booking.builder()
-                .id(7L)
-                .start(booking.getStart())
-                .end(booking.getEnd())
-                .item(item)
-                .booker(user)
-                .status(BookingStatus.REJECTED)
-                .build();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItemOwnerAndStatus(user, BookingStatus.REJECTED, pageable))
-                .thenReturn(new PageImpl<>(List.of(rejectedBooking)));
+    void getUserBookingsWithCursorSeeksPastIt() {
+        BookingCursor cursor = new BookingCursor(booking.getStart(), booking.getId());
+        when(bookingRepository.findViews(eq(BookingRole.BOOKER), eq(BookingRequestState.ALL), eq(userId),
+                any(LocalDateTime.class), argThat(after -> after.getId().equals(booking.getId())
+                        && after.getStart().equals(booking.getStart())),
+                eq(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id")))))
+                .thenReturn(List.of(view(pastBooking)));
 
-        List<Booking> result = bookingService.getOwnerBookings("REJECTED", userId, pageable);
+        List<BookingDto> bookings = bookingService.getUserBookings("ALL", userId, 20, 10, cursor.encode());
 
-        assertEquals(1, result.size());
-        assertTrue(result.contains(rejectedBooking));
+        assertEquals(List.of(dto(pastBooking)), bookings);
     }
 
     @Test
-    void getOwnerBookingsInvalidStateThrowsException() {
-        Pageable pageable = Pageable.unpaged();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
-        assertThrows(UnsupportedStateException.class, () -> bookingService
-                .getOwnerBookings("INVALID", userId, pageable));
+    void getUserBookingsWithMalformedCursorThrowsException() {
+        assertThrows(BadRequestException.class, () -> bookingService
+                .getUserBookings("ALL", userId, 0, 10, "not-a-cursor"));
     }
 
     @Test
-    void getOwnerBookingsNullStateThrowsException() {
-        Pageable pageable = Pageable.unpaged();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    void countUserBookingsUsesStateFilter() {
+        when(bookingRepository.countViews(eq(BookingRole.BOOKER), eq(BookingRequestState.PAST), eq(userId),
+                any(LocalDateTime.class))).thenReturn(3L);
 
-        assertThrows(UnsupportedStateException.class, () -> bookingService
-                .getOwnerBookings(null, userId, pageable));
+        assertEquals(3L, bookingService.countUserBookings("PAST", userId));
     }
 }
@@ -0,0 +1,7 @@
+package shareit.booking;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "shareit.booking.lock=jvm", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class StripedLockBookingConcurrencyTest extends BookingConcurrencyTest {
+}
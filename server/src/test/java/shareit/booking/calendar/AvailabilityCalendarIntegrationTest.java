@@ -0,0 +1,127 @@
+package shareit.booking.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.booking.calendar.Interval;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(properties = "shareit.booking.lock=database", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ContextConfiguration(classes = ShareItServer.class)
+class AvailabilityCalendarIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private User owner;
+    private User booker;
+    private User other;
+    private Item item;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = userRepository.save(User.builder().name("owner").email("owner@calendar.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@calendar.com").build());
+        other = userRepository.save(User.builder().name("other").email("other@calendar.com").build());
+        item = itemRepository.save(Item.builder().name("drill").description("drill").available(true)
+                .owner(owner).build());
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+        end = start.plusDays(2);
+    }
+
+    @Test
+    void deletingBookerFreesTheSlot() {
+        book(booker);
+        assertThat(itemService.getAvailability(item.getId(), start, end).getFree(), is(empty()));
+
+        userService.delete(booker.getId());
+
+        AvailabilityDto availability = itemService.getAvailability(item.getId(), start, end);
+        assertThat(availability.getBooked(), is(empty()));
+        assertThat(availability.getFree(), is(List.of(new Interval(start, end))));
+
+        Booking booking = book(other);
+        assertThat(booking.getStatus(), is(BookingStatus.APPROVED));
+        assertThat(itemService.getAvailability(item.getId(), start, end).getBooked(),
+                is(List.of(new Interval(start, end))));
+    }
+
+    @Test
+    void deletingRequestorFreesItemsAddedForTheRequest() {
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("need a saw")
+                .requestor(other)
+                .created(LocalDateTime.now())
+                .build());
+        Item saw = itemRepository.save(Item.builder().name("saw").description("saw").available(true)
+                .owner(owner).request(request).build());
+        bookingService.approveOrReject(bookingService.create(BookingDto.builder()
+                .itemId(saw.getId())
+                .start(start)
+                .end(end)
+                .build(), booker.getId()).getId(), true, owner.getId());
+        assertThat(availabilityCalendar.isBooked(saw.getId(), start, end), is(true));
+
+        userService.delete(other.getId());
+
+        assertThat(availabilityCalendar.isBooked(saw.getId(), start, end), is(false));
+    }
+
+    private Booking book(User user) {
+        Booking booking = bookingService.create(BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(end)
+                .build(), user.getId());
+        return bookingService.approveOrReject(booking.getId(), true, owner.getId());
+    }
+}
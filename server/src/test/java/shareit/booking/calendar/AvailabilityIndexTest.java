@@ -0,0 +1,94 @@
+package shareit.booking.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.BookingSlot;
+import ru.practicum.shareit.booking.calendar.AvailabilityIndex;
+import ru.practicum.shareit.booking.calendar.Interval;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilityIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private AvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AvailabilityIndex();
+        index.add(1L, DAY.plusHours(10), DAY.plusHours(12));
+        index.add(1L, DAY.plusHours(2), DAY.plusHours(4));
+        index.add(1L, DAY.plusHours(20), DAY.plusHours(22));
+    }
+
+    @Test
+    void isBookedOnlyWhenIntervalsOverlap() {
+        assertTrue(index.isBooked(1L, DAY.plusHours(3), DAY.plusHours(5)));
+        assertTrue(index.isBooked(1L, DAY, DAY.plusDays(1)));
+        assertFalse(index.isBooked(1L, DAY.plusHours(4), DAY.plusHours(10)));
+        assertFalse(index.isBooked(1L, DAY.plusHours(22), DAY.plusDays(2)));
+        assertFalse(index.isBooked(2L, DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void freeAndBookedAreClippedToWindow() {
+        assertEquals(List.of(new Interval(DAY.plusHours(3), DAY.plusHours(4)),
+                        new Interval(DAY.plusHours(10), DAY.plusHours(11))),
+                index.booked(1L, DAY.plusHours(3), DAY.plusHours(11)));
+        assertEquals(List.of(new Interval(DAY.plusHours(4), DAY.plusHours(10))),
+                index.free(1L, DAY.plusHours(3), DAY.plusHours(11)));
+        assertEquals(List.of(new Interval(DAY, DAY.plusDays(1))), index.free(2L, DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void touchingAndOverlappingIntervalsAreMerged() {
+        index.add(1L, DAY.plusHours(4), DAY.plusHours(6));
+        index.add(1L, DAY.plusHours(5), DAY.plusHours(11));
+
+        assertEquals(List.of(new Interval(DAY.plusHours(2), DAY.plusHours(12)),
+                        new Interval(DAY.plusHours(20), DAY.plusHours(22))),
+                index.booked(1L, DAY, DAY.plusDays(1)));
+        assertEquals(Map.of("items", 1, "intervals", 2L), index.footprint());
+    }
+
+    @Test
+    void replaceSwapsItemIntervalsForLoadedSlots() {
+        index.add(2L, DAY, DAY.plusHours(1));
+        BookingSlot slot = new BookingSlot() {
+            @Override
+            public Long getItemId() {
+                return 1L;
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return DAY.plusHours(20);
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return DAY.plusHours(21);
+            }
+        };
+
+        index.replace(List.of(1L, 2L), () -> List.of(slot));
+
+        assertEquals(List.of(new Interval(DAY.plusHours(20), DAY.plusHours(21))),
+                index.booked(1L, DAY, DAY.plusDays(1)));
+        assertFalse(index.isBooked(2L, DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void removeForgetsItem() {
+        index.remove(1L);
+
+        assertFalse(index.isBooked(1L, DAY, DAY.plusDays(1)));
+    }
+}
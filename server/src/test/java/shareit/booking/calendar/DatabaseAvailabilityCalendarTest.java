@@ -0,0 +1,94 @@
+package shareit.booking.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.DatabaseAvailabilityCalendar;
+import ru.practicum.shareit.booking.calendar.Interval;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@DataJpaTest
+@Import(DatabaseAvailabilityCalendar.class)
+@ContextConfiguration(classes = ShareItServer.class)
+class DatabaseAvailabilityCalendarTest {
+
+    @Autowired
+    private DatabaseAvailabilityCalendar calendar;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private Item item;
+    private Item other;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@calendar.com").build());
+        item = itemRepository.save(Item.builder().name("drill").description("drill").available(true)
+                .owner(owner).build());
+        other = itemRepository.save(Item.builder().name("saw").description("saw").available(true)
+                .owner(owner).build());
+        start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+    }
+
+    @Test
+    void readsBookingsApprovedOutsideThisInstance() {
+        save(item, start.plusDays(1), start.plusDays(2), BookingStatus.APPROVED);
+        save(item, start.plusDays(2), start.plusDays(3), BookingStatus.APPROVED);
+        save(item, start.plusDays(5), start.plusDays(12), BookingStatus.APPROVED);
+        save(item, start.plusDays(3), start.plusDays(4), BookingStatus.WAITING);
+        save(other, start, start.plusDays(10), BookingStatus.APPROVED);
+
+        LocalDateTime end = start.plusDays(10);
+        assertThat(calendar.booked(item.getId(), start, end), is(List.of(
+                new Interval(start.plusDays(1), start.plusDays(3)),
+                new Interval(start.plusDays(5), end))));
+        assertThat(calendar.free(item.getId(), start, end), is(List.of(
+                new Interval(start, start.plusDays(1)),
+                new Interval(start.plusDays(3), start.plusDays(5)))));
+    }
+
+    @Test
+    void checksWindowsAgainstApprovedBookingsOnly() {
+        save(item, start.plusDays(1), start.plusDays(2), BookingStatus.APPROVED);
+        save(other, start.plusDays(1), start.plusDays(2), BookingStatus.WAITING);
+
+        assertThat(calendar.isBooked(item.getId(), start, start.plusDays(1)), is(false));
+        assertThat(calendar.isBooked(item.getId(), start, start.plusDays(1).plusSeconds(1)), is(true));
+        assertThat(calendar.bookedItems(List.of(item.getId(), other.getId()), start, start.plusDays(3)),
+                is(Set.of(item.getId())));
+    }
+
+    private void save(Item bookedItem, LocalDateTime from, LocalDateTime to, BookingStatus status) {
+        bookingRepository.save(Booking.builder()
+                .start(from)
+                .end(to)
+                .item(bookedItem)
+                .booker(owner)
+                .status(status)
+                .build());
+    }
+}
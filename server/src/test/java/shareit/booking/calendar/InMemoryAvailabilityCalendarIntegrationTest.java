@@ -0,0 +1,18 @@
+package shareit.booking.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.calendar.InMemoryAvailabilityCalendar;
+
+@SpringBootTest(properties = "shareit.booking.lock=jvm", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class InMemoryAvailabilityCalendarIntegrationTest extends AvailabilityCalendarIntegrationTest {
+
+    @Autowired
+    private InMemoryAvailabilityCalendar inMemoryCalendar;
+
+    @BeforeEach
+    void rebuildCalendar() {
+        inMemoryCalendar.rebuild();
+    }
+}
@@ -11,6 +11,7 @@ import ru.practicum.shareit.ShareItServer;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -35,6 +36,7 @@ class BookingDtoTest {
                 LocalDateTime.now().minusDays(3),
                 ItemDto.builder().build(),
                 1L,
+                UserDto.builder().id(1L).name("booker").build(),
                 1L,
                 BookingStatus.WAITING
         );
@@ -71,6 +73,13 @@ class BookingDtoTest {
         assertThat(result).extractingJsonPathNumberValue("$.itemId").isEqualTo(1);
     }
 
+    @Test
+    void testBookingDtoBooker() {
+
+        assertThat(result).hasJsonPath("$.booker.id");
+        assertThat(result).extractingJsonPathStringValue("$.booker.name").isEqualTo("booker");
+    }
+
     @Test
     void testBookingDtoBookerId() {
 
@@ -7,14 +7,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.calendar.Interval;
 import ru.practicum.shareit.item.CommentRepository;
 import ru.practicum.shareit.item.ItemController;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemServiceImpl;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
@@ -32,8 +35,11 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.utility.Constants.HEADER_USER_ID;
@@ -190,9 +196,40 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.available", is(itemDtoUpdated.getAvailable())));
     }
 
+    @Test
+    void getItemDtoNotModified() throws Exception {
+        when(itemService.getETag(1L, 1L))
+                .thenReturn("\"v1\"");
+
+        mvc.perform(get("/items/1")
+                        .header(HEADER_USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+
+        verify(itemService, never()).get(anyLong(), anyLong());
+    }
+
+    @Test
+    void getItemDtoSendsETag() throws Exception {
+        when(itemService.getETag(1L, 1L))
+                .thenReturn("\"v2\"");
+        when(itemService.get(1L, 1L))
+                .thenReturn(itemDtoUpdated);
+
+        mvc.perform(get("/items/1")
+                        .header(HEADER_USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v2\""))
+                .andExpect(jsonPath("$.id", is(itemDtoUpdated.getId()), Long.class));
+    }
+
     @Test
     void getAll() throws Exception {
-        when(itemService.getAll(1L))
+        when(itemService.getAll(1L, 0, 1000, null))
                 .thenReturn(List.of(itemDtoUpdated));
 
         mvc.perform(get("/items/")
@@ -205,6 +242,27 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].available", is(itemDtoUpdated.getAvailable())));
     }
 
+    @Test
+    void getAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(2);
+        when(itemService.getAvailability(1L, from, to)).thenReturn(AvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .booked(List.of(new Interval(from, from.plusDays(1))))
+                .free(List.of(new Interval(from.plusDays(1), to)))
+                .build());
+
+        mvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-03T00:00:00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.booked[0].end", is("2030-01-02T00:00:00")))
+                .andExpect(jsonPath("$.free[0].start", is("2030-01-02T00:00:00")));
+    }
+
     @Test
     void search() throws Exception {
 
@@ -214,7 +272,8 @@ class ItemControllerTest {
         itemMock.setDescription("description");
         itemMock.setAvailable(true);
 
-        when(itemService.search("update")).thenReturn(Collections.singletonList(itemMock));
+        when(itemService.search("update", 0, 1000, null, null, null))
+                .thenReturn(Collections.singletonList(itemMock));
 
         ItemDto itemDtoMock = ItemMapper.toItemDto(itemMock);
 
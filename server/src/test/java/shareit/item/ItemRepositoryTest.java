@@ -5,15 +5,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ContextConfiguration;
 import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @DataJpaTest
 @ContextConfiguration(classes = ShareItServer.class)
@@ -25,6 +30,9 @@ class ItemRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
     private User owner;
     private Item item;
 
@@ -49,14 +57,14 @@ class ItemRepositoryTest {
 
     @Test
     void findByOwner() {
-        List<Item> items = itemRepository.findByOwner(owner, Sort.unsorted());
+        List<Item> items = itemRepository.findByOwnerId(owner.getId(), PageRequest.of(0, 10));
         Assertions.assertFalse(items.isEmpty());
         Assertions.assertEquals(items.get(0).getOwner(), owner);
     }
 
     @Test
     void searchAvailableByText() {
-        List<Item> items = itemRepository.search("name");
+        List<Item> items = itemRepository.search("name", PageRequest.of(0, 10));
         Assertions.assertTrue(items.get(0).getName().contains(item.getName()));
     }
 
@@ -65,7 +73,7 @@ class ItemRepositoryTest {
         item.setDescription("specific description");
         item = itemRepository.save(item);
 
-        List<Item> items = itemRepository.search("specific");
+        List<Item> items = itemRepository.search("specific", PageRequest.of(0, 10));
         Assertions.assertTrue(items.get(0).getDescription().contains("specific"));
     }
 
@@ -75,7 +83,78 @@ class ItemRepositoryTest {
         item.setAvailable(false);
         item = itemRepository.save(item);
 
-        List<Item> items = itemRepository.search("unavailable");
+        List<Item> items = itemRepository.search("unavailable", PageRequest.of(0, 10));
+        Assertions.assertTrue(items.isEmpty());
+    }
+
+    @Test
+    void searchAfterSkipsItemsUpToCursor() {
+        Item second = itemRepository.save(Item.builder()
+                .name("second name")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        List<Item> items = itemRepository.searchAfter("name", item.getId(), PageRequest.of(0, 10));
+        Assertions.assertEquals(1, items.size());
+        Assertions.assertEquals(second.getId(), items.get(0).getId());
+    }
+
+    @Test
+    void findByOwnerIdAfterCursor() {
+        List<Item> items = itemRepository.findByOwnerIdAndIdGreaterThan(owner.getId(), item.getId(),
+                PageRequest.of(0, 10));
         Assertions.assertTrue(items.isEmpty());
     }
+
+    @Test
+    void searchFreeSkipsItemsApprovedInWindow() {
+        Item free = itemRepository.save(Item.builder()
+                .name("free name")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 10, 0);
+        bookingRepository.save(Booking.builder()
+                .start(start.minusDays(1))
+                .end(start.plusHours(1))
+                .item(item)
+                .booker(owner)
+                .status(BookingStatus.APPROVED)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(start.plusDays(1))
+                .item(free)
+                .booker(owner)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        List<Item> items = itemRepository.searchFree("name", start, start.plusDays(2), PageRequest.of(0, 10));
+        Assertions.assertEquals(List.of(free.getId()), items.stream().map(Item::getId).collect(Collectors.toList()));
+
+        items = itemRepository.searchFreeAfter("name", 0L, start.plusHours(1), start.plusDays(2),
+                PageRequest.of(0, 10));
+        Assertions.assertEquals(2, items.size());
+    }
+
+    @Test
+    void searchRanksNameMatchesFirst() {
+        item.setName("plain");
+        item.setDescription("cordless drill");
+        item = itemRepository.save(item);
+        Item drill = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        List<Item> items = itemRepository.search("drill", PageRequest.of(0, 10));
+        Assertions.assertEquals(2, items.size());
+        Assertions.assertEquals(drill.getId(), items.get(0).getId());
+        Assertions.assertEquals(item.getId(), items.get(1).getId());
+    }
 }
@@ -6,23 +6,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.CustomPageRequest;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.booking.calendar.Interval;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.CommentRepository;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemServiceImpl;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utility.BadRequestException;
 import ru.practicum.shareit.utility.NoSuchIdException;
 import ru.practicum.shareit.utility.UnauthorizedAccessException;
 import ru.practicum.shareit.utility.UnsupportedStateException;
@@ -35,6 +41,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,6 +66,12 @@ class ItemServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private AvailabilityCalendar availabilityCalendar;
+
     private User user;
     private Item item;
     private ItemDto itemDto;
@@ -147,11 +161,11 @@ class ItemServiceImplTest {
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
         when(bookingRepository.findLastBooking(any(Item.class),
                 any(LocalDateTime.class), any(BookingStatus.class),
-                any(Pageable.class))).thenReturn(new PageImpl<>(new ArrayList<>()));
+                any(Pageable.class))).thenReturn(new ArrayList<>());
         when(bookingRepository.findNextBooking(any(Item.class),
                 any(LocalDateTime.class),
                 any(BookingStatus.class),
-                any(Pageable.class))).thenReturn(new PageImpl<>(new ArrayList<>()));
+                any(Pageable.class))).thenReturn(new ArrayList<>());
 
         ItemDto result = itemService.get(1L, 1L);
 
@@ -188,21 +202,58 @@ class ItemServiceImplTest {
         items.add(item1);
         items.add(item2);
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(itemRepository.findByOwner(user, Sort.by("id").ascending())).thenReturn(items);
-        when(bookingRepository.findLastBooking(any(Item.class),
-                any(LocalDateTime.class), any(BookingStatus.class),
-                any(Pageable.class))).thenReturn(new PageImpl<>(new ArrayList<>()));
-        when(bookingRepository.findNextBooking(any(Item.class),
-                any(LocalDateTime.class),
-                any(BookingStatus.class),
-                any(Pageable.class))).thenReturn(new PageImpl<>(new ArrayList<>()));
-
-        List<ItemDto> result = itemService.getAll(1L);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.findByOwnerId(1L, CustomPageRequest.of(0, 10, Sort.by("id")))).thenReturn(items);
+
+        User booker = new User();
+        booker.setId(3L);
+        booker.setName("Booker");
+
+        Booking lastBooking = Booking.builder()
+                .id(10L)
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .item(item1)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+
+        Comment comment = Comment.builder()
+                .id(20L)
+                .text("Comment")
+                .item(item2)
+                .author(booker)
+                .created(LocalDateTime.now())
+                .build();
+
+        when(bookingRepository.findLastBookings(eq(List.of(1L, 2L)), any(LocalDateTime.class),
+                eq(BookingStatus.APPROVED))).thenReturn(List.of(lastBooking));
+        when(bookingRepository.findNextBookings(eq(List.of(1L, 2L)), any(LocalDateTime.class),
+                eq(BookingStatus.APPROVED))).thenReturn(new ArrayList<>());
+        when(commentRepository.findAllByItemIds(List.of(1L, 2L))).thenReturn(List.of(comment));
+
+        List<ItemDto> result = itemService.getAll(1L, 0, 10, null);
 
         assertEquals(2, result.size());
         assertEquals("Item1", result.get(0).getName());
         assertEquals("Item2", result.get(1).getName());
+        assertEquals(10L, result.get(0).getLastBooking().getId());
+        assertEquals(3L, result.get(0).getLastBooking().getBookerId());
+        assertNull(result.get(0).getNextBooking());
+        assertTrue(result.get(0).getComments().isEmpty());
+        assertEquals("Comment", result.get(1).getComments().get(0).getText());
+    }
+
+    @Test
+    void getAllOwnerWithoutItemsSkipsEnrichment() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.findByOwnerIdAndIdGreaterThan(1L, 5L, PageRequest.of(0, 10, Sort.by("id"))))
+                .thenReturn(new ArrayList<>());
+
+        List<ItemDto> result = itemService.getAll(1L, 0, 10, 5L);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(bookingRepository, commentRepository);
     }
 
     @Test
@@ -210,20 +261,77 @@ class ItemServiceImplTest {
         List<Item> items = new ArrayList<>();
         items.add(item);
 
-        when(itemRepository.search("Item")).thenReturn(items);
+        when(itemSearchEngine.search("Item", 0, 10, null, null, null)).thenReturn(items);
 
-        List<Item> result = itemService.search("Item");
+        List<Item> result = itemService.search("Item", 0, 10, null, null, null);
 
         assertEquals(1, result.size());
         assertEquals("Item", result.get(0).getName());
     }
 
+    @Test
+    void searchEmptyTextSkipsSearchEngine() {
+        List<Item> result = itemService.search("", 0, 10, null, null, null);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(itemSearchEngine);
+    }
+
+    @Test
+    void searchWithHalfOpenWindowThrowsException() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThrows(BadRequestException.class, () -> itemService.search("Item", 0, 10, null, start, null));
+        assertThrows(BadRequestException.class, () -> itemService.search("Item", 0, 10, null, start, start));
+        verifyNoInteractions(itemSearchEngine);
+    }
+
+    @Test
+    void getAllUnknownUserThrowsException() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NoSuchIdException.class, () -> itemService.getAll(1L, 0, 10, null));
+    }
+
     @Test
     void deleteValidInputNoReturn() {
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
 
         assertDoesNotThrow(() -> itemService.delete(1L, 1L));
+        verify(availabilityCalendar).remove(1L);
+    }
+
+    @Test
+    void getAvailabilityReadsCalendar() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        List<Interval> booked = List.of(new Interval(from.plusDays(1), from.plusDays(2)));
+        List<Interval> free = List.of(new Interval(from, from.plusDays(1)), new Interval(from.plusDays(2), to));
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(availabilityCalendar.booked(1L, from, to)).thenReturn(booked);
+        when(availabilityCalendar.free(1L, from, to)).thenReturn(free);
+
+        AvailabilityDto availability = itemService.getAvailability(1L, from, to);
+
+        assertEquals(booked, availability.getBooked());
+        assertEquals(free, availability.getFree());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getAvailabilityUnknownItemThrowsException() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResponseStatusException.class, () -> itemService.getAvailability(1L, from, from.plusDays(1)));
+    }
+
+    @Test
+    void getAvailabilityEmptyWindowThrowsException() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThrows(BadRequestException.class, () -> itemService.getAvailability(1L, from, from));
     }
 
     @Test
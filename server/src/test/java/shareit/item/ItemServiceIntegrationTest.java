@@ -24,7 +24,9 @@ import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 @SpringBootTest(
         properties = "db.name=test",
@@ -122,4 +124,19 @@ class ItemServiceIntegrationTest {
 
         assertThat(itemDto.getId(), is(itemId));
     }
-}
\ No newline at end of file
+
+    @DirtiesContext
+    @Test
+    void eTagChangesWhenItemIsUpdated() {
+        Long ownerId = userRepository.findByName("owner").get().getId();
+        Long itemId = itemRepository.findByName("item1").getId();
+
+        String eTag = itemService.getETag(itemId, ownerId);
+        assertThat(itemService.getETag(itemId, ownerId), is(eTag));
+
+        itemService.update(itemId, ItemDto.builder().description("changed").build(), ownerId);
+
+        assertThat(itemService.getETag(itemId, ownerId), is(not(eTag)));
+        assertThat(itemService.getETag(-1L, ownerId), is(nullValue()));
+    }
+}
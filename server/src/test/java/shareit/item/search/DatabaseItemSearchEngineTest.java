@@ -0,0 +1,68 @@
+package shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.CustomPageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.DatabaseItemSearchEngine;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseItemSearchEngineTest {
+
+    @InjectMocks
+    private DatabaseItemSearchEngine searchEngine;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Test
+    void searchWithOffsetUsesRankedQuery() {
+        List<Item> items = List.of(Item.builder().id(1L).name("Item").build());
+        when(itemRepository.search("Item", CustomPageRequest.of(0, 10, Sort.unsorted()))).thenReturn(items);
+
+        List<Item> result = searchEngine.search("Item", 0, 10, null, null, null);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void searchAfterIdUsesKeysetQuery() {
+        when(itemRepository.searchAfter("Item", 1L, PageRequest.of(0, 10, Sort.by("id"))))
+                .thenReturn(new ArrayList<>());
+
+        List<Item> result = searchEngine.search("Item", 0, 10, 1L, null, null);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void searchWithWindowUsesAntiJoinQuery() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime end = start.plusDays(2);
+        when(itemRepository.searchFree("Item", start, end, CustomPageRequest.of(0, 10, Sort.unsorted())))
+                .thenReturn(new ArrayList<>());
+        when(itemRepository.searchFreeAfter("Item", 1L, start, end, PageRequest.of(0, 10, Sort.by("id"))))
+                .thenReturn(new ArrayList<>());
+
+        assertTrue(searchEngine.search("Item", 0, 10, null, start, end).isEmpty());
+        assertTrue(searchEngine.search("Item", 0, 10, 1L, start, end).isEmpty());
+        verify(itemRepository, never()).search(any(), any());
+    }
+}
@@ -0,0 +1,142 @@
+package shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.calendar.AvailabilityCalendar;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemDocument;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private AvailabilityCalendar availabilityCalendar;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, Item> stored = new HashMap<>();
+
+    private InMemoryItemSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        LongStream.rangeClosed(1, 7).forEach(id -> stored.put(id, item(id, "drill " + id, true)));
+        when(itemRepository.streamAllDocuments()).thenReturn(stored.values().stream()
+                .map(item -> new ItemDocument(item.getId(), item.getName(), item.getDescription(),
+                        item.getAvailable())));
+        when(itemRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Item> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                if (stored.containsKey(id)) {
+                    found.add(stored.get(id));
+                }
+            }
+            return found;
+        });
+        searchEngine = new InMemoryItemSearchEngine(itemRepository, availabilityCalendar, transactionManager);
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void fromIsRoundedDownToTheStartOfItsPage() {
+        assertEquals(List.of(4L, 5L, 6L), ids(searchEngine.search("drill", 3, 3, null, null, null)));
+        assertEquals(List.of(4L, 5L, 6L), ids(searchEngine.search("drill", 5, 3, null, null, null)));
+        assertEquals(List.of(7L), ids(searchEngine.search("drill", 6, 3, null, null, null)));
+        assertEquals(List.of(), ids(searchEngine.search("drill", 9, 3, null, null, null)));
+    }
+
+    @Test
+    void afterStartsPastTheIdWhetherOrNotItIsAHit() {
+        assertEquals(List.of(4L, 5L, 6L), ids(searchEngine.search("drill", 0, 3, 3L, null, null)));
+
+        searchEngine.remove(4L);
+
+        assertEquals(List.of(5L, 6L, 7L), ids(searchEngine.search("drill", 0, 3, 4L, null, null)));
+        assertEquals(List.of(1L, 2L, 3L), ids(searchEngine.search("drill", 0, 3, 0L, null, null)));
+        assertEquals(List.of(), ids(searchEngine.search("drill", 0, 3, 7L, null, null)));
+    }
+
+    @Test
+    void pageIsShortWhenStoredItemIsUnavailableOrGone() {
+        stored.put(2L, item(2L, "drill 2", false));
+        stored.remove(3L);
+
+        assertEquals(List.of(1L), ids(searchEngine.search("drill", 0, 3, null, null, null)));
+        assertEquals(List.of(4L, 5L, 6L), ids(searchEngine.search("drill", 3, 3, null, null, null)));
+    }
+
+    @Test
+    void windowDropsBookedItemsBeforePaging() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime end = start.plusDays(2);
+        when(availabilityCalendar.bookedItems(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), start, end))
+                .thenReturn(Set.of(2L, 5L));
+
+        assertEquals(List.of(1L, 3L, 4L), ids(searchEngine.search("drill", 0, 3, null, start, end)));
+        assertEquals(List.of(6L, 7L), ids(searchEngine.search("drill", 4, 3, null, start, end)));
+        assertEquals(List.of(4L, 6L, 7L), ids(searchEngine.search("drill", 0, 3, 3L, start, end)));
+        assertEquals(List.of(6L, 7L), ids(searchEngine.search("drill", 0, 3, 5L, start, end)));
+    }
+
+    @Test
+    void indexAndRemoveApplyAfterCommit() {
+        stored.put(8L, item(8L, "hammer", true));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchEngine.index(stored.get(8L));
+            searchEngine.remove(1L);
+
+            assertEquals(List.of(), ids(searchEngine.search("hammer", 0, 10, null, null, null)));
+            assertEquals(List.of(1L, 2L), ids(searchEngine.search("drill", 0, 2, null, null, null)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(8L), ids(searchEngine.search("hammer", 0, 10, null, null, null)));
+        assertEquals(List.of(2L, 3L), ids(searchEngine.search("drill", 0, 2, null, null, null)));
+    }
+
+    @Test
+    void indexAndRemoveApplyAtOnceOutsideTransaction() {
+        searchEngine.index(item(1L, "saw", true));
+        searchEngine.remove(2L);
+
+        assertEquals(List.of(3L, 4L), ids(searchEngine.search("drill", 0, 2, null, null, null)));
+        assertEquals(List.of(1L), ids(searchEngine.search("saw", 0, 10, null, null, null)));
+    }
+
+    private static Item item(Long id, String name, Boolean available) {
+        return Item.builder().id(id).name(name).description("tool").available(available).build();
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
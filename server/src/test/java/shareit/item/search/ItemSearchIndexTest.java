@@ -0,0 +1,62 @@
+package shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.ItemDocument;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex();
+        index.put(new ItemDocument(1L, "Дрель", "Простая дрель", true));
+        index.put(new ItemDocument(2L, "Отвертка", "Аккумуляторная отвертка", true));
+        index.put(new ItemDocument(3L, "Молоток", "Тяжелый молоток", false));
+        index.put(new ItemDocument(4L, "Перфоратор", "Мощнее, чем дрель", true));
+    }
+
+    @Test
+    void searchIsCaseInsensitiveAndMatchesPartOfWord() {
+        assertArrayEquals(new long[]{2L}, index.search("оТверТ"));
+        assertArrayEquals(new long[]{2L}, index.search("аккУМУляторная"));
+    }
+
+    @Test
+    void searchReturnsNameMatchesFirst() {
+        assertArrayEquals(new long[]{1L, 4L}, index.search("дрель"));
+    }
+
+    @Test
+    void searchSkipsUnavailableItems() {
+        assertArrayEquals(new long[0], index.search("молоток"));
+    }
+
+    @Test
+    void searchWithShortTextFallsBackToScan() {
+        assertArrayEquals(new long[]{1L, 4L}, index.search("др"));
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsDocument() {
+        index.put(new ItemDocument(1L, "Шуруповерт", "Без дрели", true));
+        assertArrayEquals(new long[]{4L}, index.search("дрель"));
+
+        index.remove(4L);
+        assertArrayEquals(new long[0], index.search("дрель"));
+    }
+
+    @Test
+    void footprintCountsDocuments() {
+        Map<String, Object> footprint = index.footprint();
+
+        assertEquals(4, footprint.get("documents"));
+    }
+}
@@ -30,8 +30,8 @@ class ItemRequestMapperTest {
                 userDto, null, null, null, null);
         List<ItemDto> itemDtos = List.of(itemDto);
         itemRequest = new ItemRequest(1L, "description",
-                new User(1L, "Test User", "testuser@email.com"), LocalDateTime.now(),
-                itemDtos.stream().map(ItemMapper::toItem).collect(Collectors.toList()));
+                new User(1L, "Test User", "testuser@email.com", 0L), LocalDateTime.now(),
+                itemDtos.stream().map(ItemMapper::toItem).collect(Collectors.toList()), 0L);
         itemRequestDto = new ItemRequestDto(1L, "description",
                 UserMapper.toUser(userDto), LocalDateTime.now(), itemDtos);
     }
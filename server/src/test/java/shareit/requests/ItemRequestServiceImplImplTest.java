@@ -71,7 +71,7 @@ class ItemRequestServiceImplImplTest {
     @Test
     void testGetOwnRequests() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRequestRepository.findByRequestorOrderByCreatedDesc(any(User.class))).thenReturn(Collections.singletonList(request));
+        when(itemRequestRepository.findDistinctByRequestorOrderByCreatedDesc(any(User.class))).thenReturn(Collections.singletonList(request));
 
         List<ItemRequestDto> results = itemRequestServiceImpl.getOwnRequests(user.getId());
 
@@ -88,7 +88,9 @@ class ItemRequestServiceImplImplTest {
         itemRequest.setRequestor(differentUser);
 
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(anyLong(), any(PageRequest.class)))
+        when(itemRequestRepository.findIdsByRequestorIdNot(anyLong(), any(PageRequest.class)))
+                .thenReturn(Collections.singletonList(1L));
+        when(itemRequestRepository.findDistinctByIdInOrderByCreatedDesc(Collections.singletonList(1L)))
                 .thenReturn(Collections.singletonList(itemRequest));
 
         List<ItemRequestDto> results = itemRequestServiceImpl.getAllRequests(user.getId(), PageRequest.of(0, 10));